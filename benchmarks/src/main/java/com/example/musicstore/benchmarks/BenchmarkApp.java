@@ -0,0 +1,103 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт главного класса приложения
+import com.example.musicstore.MusicstoreApplication.MusicstoreApplication;
+// Импорт моделей приложения
+import com.example.musicstore.models.Order;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.User;
+// Импорт репозиториев
+import com.example.musicstore.repositories.OrderRepository;
+import com.example.musicstore.repositories.ProductRepository;
+import com.example.musicstore.repositories.UserRepository;
+// Импорт классов Spring
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Импорт классов для работы с коллекциями
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Запуск приложения для бенчмарков: полный контекст Spring, но вместо MySQL - H2 в памяти
+ * (режим совместимости MySQL, схема и индексы создаются миграциями Flyway), без SQL-логов и без кеша отчетов.
+ * После запуска база заполняется данными из BenchmarkData.
+ */
+final class BenchmarkApp {
+
+    // Номер базы: у каждого контекста своя база в памяти
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    // Размер пачки при заполнении базы
+    private static final int CHUNK = 1_000;
+
+    private BenchmarkApp() {
+    }
+
+    /**
+     * Запускает приложение и заполняет базу
+     * @param products количество товаров
+     * @param users количество пользователей
+     * @param orders количество заказов
+     * @return контекст приложения (закрывается в @TearDown бенчмарка)
+     */
+    static ConfigurableApplicationContext start(int products, int users, int orders) {
+        ConfigurableApplicationContext context = SpringApplication.run(MusicstoreApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:bench" + DATABASES.incrementAndGet() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                // Диалект из application.properties - MySQL: с ним H2 не понимает LIKE ... ESCAPE '\\' в поиске
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                // Схема из миграций; validate выключен: H2Dialect ждет varchar вместо enum-колонок MySQL
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.musicstore=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type=WARN",
+                // Предупреждение о явно заданном H2Dialect
+                "--logging.level.org.hibernate.orm.deprecation=ERROR",
+                // Кеш отчетов выключен: каждый вызов строит отчет по базе
+                "--reports.cache.max-entries=0");
+        seed(context, products, users, orders);
+        return context;
+    }
+
+    // Заполнение базы пачками, каждая пачка в своей транзакции
+    private static void seed(ConfigurableApplicationContext context, int productCount, int userCount, int orderCount) {
+        TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(BenchmarkData.PASSWORD);
+        List<User> users = BenchmarkData.users(userCount, passwordHash);
+        List<Product> products = BenchmarkData.products(productCount);
+        for (List<User> chunk : chunks(users)) {
+            tx.executeWithoutResult(status -> userRepository.saveAll(chunk));
+        }
+        for (List<Product> chunk : chunks(products)) {
+            tx.executeWithoutResult(status -> productRepository.saveAll(chunk));
+        }
+        if (orderCount > 0) {
+            for (List<Order> chunk : chunks(BenchmarkData.orders(orderCount, products, users))) {
+                tx.executeWithoutResult(status -> orderRepository.saveAll(chunk));
+            }
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += CHUNK) {
+            chunks.add(items.subList(from, Math.min(from + CHUNK, items.size())));
+        }
+        return chunks;
+    }
+}
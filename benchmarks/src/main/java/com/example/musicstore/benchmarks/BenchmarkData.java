@@ -0,0 +1,126 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт моделей приложения
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Order;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.User;
+// Импорт перечислений статуса заказа и роли
+import com.example.musicstore.models.enums.OrderStatus;
+import com.example.musicstore.models.enums.Role;
+
+// Импорт классов для работы с датой, временем и коллекциями
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор тестовых данных для бенчмарков.
+ * Все данные строятся от фиксированного seed, поэтому прогоны "до" и "после" изменения
+ * работают с одинаковыми товарами, пользователями и заказами.
+ */
+final class BenchmarkData {
+
+    // Seed по умолчанию
+    static final long SEED = 42L;
+
+    // Период, за который генерируются заказы
+    static final LocalDate ORDERS_START = LocalDate.of(2024, 1, 1);
+    static final LocalDate ORDERS_END = LocalDate.of(2024, 12, 31);
+
+    // Пароль всех сгенерированных пользователей
+    static final String PASSWORD = "benchmark";
+
+    // Слова для названий товаров: поиск по ним находит предсказуемую долю каталога
+    static final String[] BRANDS = {"Fender", "Gibson", "Yamaha", "Ibanez", "Roland", "Korg", "Marshall", "Casio"};
+    private static final String[] KINDS = {"Guitar", "Bass", "Piano", "Synth", "Amp", "Drum Kit", "Violin", "Ukulele"};
+
+    // Количество различных авторов товаров
+    private static final int AUTHORS = 200;
+
+    private BenchmarkData() {
+    }
+
+    // Email автора с номером i
+    static String author(int i) {
+        return "author" + i + "@example.com";
+    }
+
+    // Email пользователя с номером i
+    static String userEmail(int i) {
+        return "user" + i + "@example.com";
+    }
+
+    /**
+     * Товары: название "бренд вид модель", цена 10.00-2009.99, автор из пула AUTHORS
+     * @param count количество товаров
+     * @return список несохраненных товаров
+     */
+    static List<Product> products(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName(BRANDS[random.nextInt(BRANDS.length)] + " " + KINDS[random.nextInt(KINDS.length)] + " " + i);
+            product.setDescription("Benchmark product " + i);
+            product.setPrice(Money.ofMinor(1_000L + random.nextLong(200_000L)));
+            product.setAuthor(author(random.nextInt(AUTHORS)));
+            product.setStatus(Product.ProductStatus.AVAILABLE);
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * Пользователи с ролью ROLE_USER и одинаковым паролем
+     * @param count количество пользователей
+     * @param passwordHash хеш пароля PASSWORD (считается один раз, BCrypt медленный)
+     * @return список несохраненных пользователей
+     */
+    static List<User> users(int count, String passwordHash) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setEmail(userEmail(i));
+            user.setPassword(passwordHash);
+            user.setActive(true);
+            user.setRoles(new HashSet<>(Set.of(Role.ROLE_USER)));
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * Заказы за период ORDERS_START - ORDERS_END: 80% завершенных, остальные в ожидании или отменены
+     * @param count количество заказов
+     * @param products сохраненные товары
+     * @param users сохраненные пользователи
+     * @return список несохраненных заказов
+     */
+    static List<Order> orders(int count, List<Product> products, List<User> users) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        long hours = (ORDERS_END.toEpochDay() - ORDERS_START.toEpochDay() + 1) * 24;
+        LocalDateTime start = ORDERS_START.atStartOfDay();
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = products.get(random.nextInt(products.size()));
+            int quantity = 1 + random.nextInt(3);
+            int roll = random.nextInt(10);
+
+            Order order = new Order();
+            order.setProduct(product);
+            order.setUser(users.get(random.nextInt(users.size())));
+            order.setQuantity(quantity);
+            order.setTotalAmount(product.getPrice().times(quantity));
+            order.setStatus(roll < 8 ? OrderStatus.COMPLETED : roll == 8 ? OrderStatus.PENDING : OrderStatus.CANCELLED);
+            order.setOrderDate(start.plusHours(random.nextLong(hours)));
+            orders.add(order);
+        }
+        return orders;
+    }
+}
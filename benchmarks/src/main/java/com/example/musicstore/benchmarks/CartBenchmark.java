@@ -0,0 +1,113 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт моделей корзины, денежной суммы и товара
+import com.example.musicstore.models.Cart;
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Product;
+// Импорт аннотаций JMH
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Импорт класса для работы с временными единицами
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк мутаций корзины: инкрементальная корзина (Cart) против прежней реализации (LegacyCart),
+ * которая пересчитывала сумму через Stream API и BigDecimal при каждом изменении.
+ *
+ * Запуск:
+ * mvn -f benchmarks/pom.xml package exec:exec -Djmh.args="CartBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CartBenchmark {
+
+    // Количество различных позиций в корзине (обычная и крупная B2B корзина)
+    @Param({"10", "1000"})
+    private int size;
+
+    // Заранее подготовленные товары
+    private Product[] products;
+
+    // Заполненные корзины обеих реализаций
+    private Cart cart;
+    private LegacyCart legacyCart;
+
+    // Счетчик для выбора позиции, которую меняем
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = new Product[size];
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setName("Product " + i);
+            product.setPrice(Money.ofMinor(10_099L + (i % 97) * 100L));
+            product.setAuthor("author" + (i % 13) + "@example.com");
+            products[i] = product;
+        }
+
+        cart = new Cart();
+        legacyCart = new LegacyCart();
+        for (Product product : products) {
+            cart.addItem(product);
+            legacyCart.addItem(product);
+        }
+    }
+
+    // Следующая позиция для изменения
+    private Product next() {
+        cursor = (cursor + 1) % size;
+        return products[cursor];
+    }
+
+    @Benchmark
+    public void updateQuantity(Blackhole bh) {
+        Product product = next();
+        cart.updateQuantity(product.getId(), 1 + (cursor & 7));
+        bh.consume(cart.getTotalAmount());
+        bh.consume(cart.getTotalItems());
+    }
+
+    @Benchmark
+    public void legacyUpdateQuantity(Blackhole bh) {
+        Product product = next();
+        legacyCart.updateQuantity(product.getId(), 1 + (cursor & 7));
+        bh.consume(legacyCart.getTotalAmount());
+        bh.consume(legacyCart.getTotalItems());
+    }
+
+    @Benchmark
+    public void removeAndAdd(Blackhole bh) {
+        Product product = next();
+        cart.removeItem(product.getId());
+        cart.addItem(product);
+        bh.consume(cart.getTotalAmount());
+    }
+
+    @Benchmark
+    public void legacyRemoveAndAdd(Blackhole bh) {
+        Product product = next();
+        legacyCart.removeItem(product.getId());
+        legacyCart.addItem(product);
+        bh.consume(legacyCart.getTotalAmount());
+    }
+
+    @Benchmark
+    public void readTotals(Blackhole bh) {
+        bh.consume(cart.getTotalAmount());
+        bh.consume(cart.getTotalItems());
+    }
+
+    @Benchmark
+    public void legacyReadTotals(Blackhole bh) {
+        bh.consume(legacyCart.getTotalAmount());
+        bh.consume(legacyCart.getTotalItems());
+    }
+}
@@ -0,0 +1,66 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт сервисов отчетов и экспорта
+import com.example.musicstore.services.ExportService;
+import com.example.musicstore.services.ReportService;
+// Импорт аннотаций JMH
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+// Импорт контекста Spring
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Импорт класса для работы с временными единицами
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк отчетов на базе H2: построение отчета ReportService за год
+ * и экспорт того же отчета в Excel и PDF через ExportService (запросы + агрегация + генерация файла).
+ * Кеш отчетов выключен, поэтому каждый вызов читает заказы из базы.
+ *
+ * Запуск:
+ * mvn -f benchmarks/pom.xml package exec:exec -Djmh.args="ExportBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    // Количество заказов за год
+    @Param({"20000", "100000"})
+    private int orders;
+
+    private ConfigurableApplicationContext context;
+    private ReportService reportService;
+    private ExportService exportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start(2_000, 200, orders);
+        reportService = context.getBean(ReportService.class);
+        exportService = context.getBean(ExportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void report(Blackhole bh) {
+        bh.consume(reportService.generateReport(BenchmarkData.ORDERS_START, BenchmarkData.ORDERS_END, null));
+    }
+
+    @Benchmark
+    public void excel(Blackhole bh) {
+        bh.consume(exportService.exportToExcel(BenchmarkData.ORDERS_START, BenchmarkData.ORDERS_END, "all", null));
+    }
+
+    @Benchmark
+    public void pdf(Blackhole bh) {
+        bh.consume(exportService.exportToPdf(BenchmarkData.ORDERS_START, BenchmarkData.ORDERS_END, "all", null));
+    }
+}
@@ -0,0 +1,73 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт модели Product
+import com.example.musicstore.models.Product;
+
+// Импорт класса BigDecimal для денежных расчетов
+import java.math.BigDecimal;
+// Импорт классов коллекций
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Копия прежней реализации корзины (полный пересчет суммы через Stream API при каждом изменении).
+ * Используется только как базовая линия в CartBenchmark.
+ */
+class LegacyCart {
+
+    // Позиция корзины в прежнем виде: цена в BigDecimal
+    static final class Item {
+        final BigDecimal price;
+        int quantity = 1;
+
+        Item(Product product) {
+            this.price = product.getPrice().toBigDecimal();
+        }
+    }
+
+    // Коллекция товаров в корзине
+    private final Map<Long, Item> items = new HashMap<>();
+
+    // Общая сумма всех товаров в корзине
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    void addItem(Product product) {
+        Item item = items.get(product.getId());
+        if (item == null) {
+            items.put(product.getId(), new Item(product));
+        } else {
+            item.quantity++;
+        }
+        calculateTotal();
+    }
+
+    void removeItem(Long productId) {
+        items.remove(productId);
+        calculateTotal();
+    }
+
+    void updateQuantity(Long productId, int quantity) {
+        Item item = items.get(productId);
+        if (item != null) {
+            item.quantity = quantity;
+            calculateTotal();
+        }
+    }
+
+    BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    int getTotalItems() {
+        return items.values().stream()
+                .mapToInt(item -> item.quantity)
+                .sum();
+    }
+
+    private void calculateTotal() {
+        totalAmount = items.values().stream()
+                .map(item -> item.price.multiply(BigDecimal.valueOf(item.quantity)))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,81 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт класса BigDecimal для денежных расчетов
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+// Импорт классов для работы с датой и временем
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+// Импорт классов коллекций и потоков
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Копия прежней агрегации отчета: группировка заказов в List по ключу (Collectors.groupingBy)
+ * и свертка сумм в BigDecimal, отдельный проход для каждого раздела отчета.
+ * Используется только как базовая линия в ReportBenchmark.
+ */
+class LegacyReport {
+
+    // Заказ в прежнем виде: сумма в BigDecimal
+    record Row(LocalDateTime orderDate, BigDecimal totalAmount, Integer quantity, String author) {
+    }
+
+    // Выручка по дням: дата -> {выручка, средний чек}
+    static Map<LocalDate, BigDecimal[]> revenueByPeriod(List<Row> orders) {
+        return orders.stream()
+                .collect(Collectors.groupingBy(
+                        order -> order.orderDate().toLocalDate(),
+                        Collectors.collectingAndThen(Collectors.toList(), group -> {
+                            BigDecimal revenue = group.stream()
+                                    .map(Row::totalAmount)
+                                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                            BigDecimal average = revenue.divide(BigDecimal.valueOf(group.size()), 2, RoundingMode.HALF_UP);
+                            return new BigDecimal[]{revenue, average};
+                        })));
+    }
+
+    // Статистика по авторам: автор -> {выручка, доля рынка}, отсортировано по убыванию выручки
+    static List<Map.Entry<String, BigDecimal[]>> authorStats(List<Row> orders) {
+        Map<String, BigDecimal[]> byAuthor = orders.stream()
+                .filter(order -> order.author() != null)
+                .collect(Collectors.groupingBy(
+                        Row::author,
+                        Collectors.collectingAndThen(Collectors.toList(), group -> new BigDecimal[]{
+                                group.stream().map(Row::totalAmount).reduce(BigDecimal.ZERO, BigDecimal::add),
+                                BigDecimal.ZERO})));
+
+        BigDecimal total = byAuthor.values().stream()
+                .map(values -> values[0])
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        byAuthor.values().forEach(values -> {
+            if (total.compareTo(BigDecimal.ZERO) > 0) {
+                values[1] = values[0].multiply(BigDecimal.valueOf(100)).divide(total, 2, RoundingMode.HALF_UP);
+            }
+        });
+
+        return byAuthor.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, BigDecimal[]> entry) -> entry.getValue()[0]).reversed())
+                .collect(Collectors.toList());
+    }
+
+    // Продажи по дням: дата -> {количество, выручка}
+    static Map<LocalDate, Object[]> salesByDay(List<Row> orders) {
+        return orders.stream()
+                .collect(Collectors.groupingBy(
+                        order -> order.orderDate().toLocalDate(),
+                        Collectors.collectingAndThen(Collectors.toList(), group -> new Object[]{
+                                (long) group.size(),
+                                group.stream().map(Row::totalAmount).reduce(BigDecimal.ZERO, BigDecimal::add)})));
+    }
+
+    // Количество проданных товаров
+    static long countSoldProducts(List<Row> orders) {
+        return orders.stream()
+                .mapToLong(order -> order.quantity() != null ? order.quantity() : 1)
+                .sum();
+    }
+}
@@ -0,0 +1,92 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт сервиса загрузки пользователей (тот же, что подключен к форме входа в SecurityConfig)
+import com.example.musicstore.services.CustomUserDetailsService;
+// Импорт аннотаций JMH
+import org.openjdk.jmh.annotations.*;
+// Импорт контекста Spring
+import org.springframework.context.ConfigurableApplicationContext;
+// Импорт классов Spring Security
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Импорт класса для работы с временными единицами
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк стоимости входа пользователя.
+ * bcryptMatches - только проверка пароля BCrypt при разной стоимости (strength);
+ * authenticate - вход целиком, как при отправке формы /login: загрузка пользователя
+ * через CustomUserDetailsService из H2 и проверка пароля кодировщиком приложения.
+ *
+ * Запуск:
+ * mvn -f benchmarks/pom.xml package exec:exec -Djmh.args="LoginBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    // Кодировщик BCrypt с заданной стоимостью и заранее посчитанный хеш
+    @State(Scope.Benchmark)
+    public static class EncoderState {
+
+        // Стоимость BCrypt (2^strength раундов); 10 - значение по умолчанию в приложении
+        @Param({"8", "10", "12"})
+        private int strength;
+
+        private PasswordEncoder encoder;
+        private String hash;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            encoder = new BCryptPasswordEncoder(strength);
+            hash = encoder.encode(BenchmarkData.PASSWORD);
+        }
+    }
+
+    // Приложение на H2 с пользователями из BenchmarkData
+    @State(Scope.Benchmark)
+    public static class AppState {
+
+        private ConfigurableApplicationContext context;
+        private DaoAuthenticationProvider provider;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkApp.start(1, 1_000, 0);
+            provider = new DaoAuthenticationProvider();
+            provider.setUserDetailsService(context.getBean(CustomUserDetailsService.class));
+            provider.setPasswordEncoder(context.getBean(PasswordEncoder.class));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    // Номер пользователя для следующего входа
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Benchmark
+    public boolean bcryptMatches(EncoderState state) {
+        return state.encoder.matches(BenchmarkData.PASSWORD, state.hash);
+    }
+
+    @Benchmark
+    public Authentication authenticate(AppState app, Cursor cursor) {
+        cursor.next = (cursor.next + 1) % 1_000;
+        return app.provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(
+                BenchmarkData.userEmail(cursor.next), BenchmarkData.PASSWORD));
+    }
+}
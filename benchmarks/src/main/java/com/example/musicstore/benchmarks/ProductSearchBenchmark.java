@@ -0,0 +1,57 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт сервиса товаров
+import com.example.musicstore.services.ProductService;
+// Импорт аннотаций JMH
+import org.openjdk.jmh.annotations.*;
+// Импорт контекста Spring
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Импорт классов для работы с коллекциями и временными единицами
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк поиска товаров по названию (ProductService.findByTitleContaining) на базе H2.
+ * Запрос "fender" находит около 1/8 каталога, "guitar 1234" - единицы товаров, "nothing" - ничего:
+ * так видно отдельно стоимость сканирования таблицы и стоимость загрузки найденных сущностей.
+ *
+ * Запуск:
+ * mvn -f benchmarks/pom.xml package exec:exec -Djmh.args="ProductSearchBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    // Размер каталога
+    @Param({"10000", "100000"})
+    private int products;
+
+    // Строка поиска
+    @Param({"fender", "guitar 1234", "nothing"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start(products, 1, 0);
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<?> search() {
+        return productService.findByTitleContaining(query);
+    }
+}
@@ -0,0 +1,102 @@
+// Пакет, в котором находятся бенчмарки
+package com.example.musicstore.benchmarks;
+
+// Импорт моделей денежной суммы и проекции заказа
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.OrderReportRow;
+// Импорт агрегатора отчетов
+import com.example.musicstore.services.ReportAggregator;
+// Импорт аннотаций JMH
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Импорт классов для работы с датой, временем и коллекциями
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк построения отчета за год: однопроходный ReportAggregator на примитивных массивах
+ * против прежней агрегации (LegacyReport) через Collectors.groupingBy и BigDecimal.
+ * Даты, суммы и авторы берутся из небольших пулов, чтобы 10 млн заказов помещались в память.
+ *
+ * Запуск:
+ * mvn -f benchmarks/pom.xml package exec:exec -Djmh.args="ReportBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+
+    // Период отчета
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    // Количество заказов за период
+    @Param({"1000000", "10000000"})
+    private int orders;
+
+    // Заказы в новом (Money) и прежнем (BigDecimal) виде
+    private List<OrderReportRow> rows;
+    private List<LegacyReport.Row> legacyRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        // Пулы дат (каждый час года), сумм и авторов
+        int days = (int) (END.toEpochDay() - START.toEpochDay()) + 1;
+        LocalDateTime[] dates = new LocalDateTime[days * 24];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = START.atStartOfDay().plusHours(i);
+        }
+        Money[] amounts = new Money[1000];
+        BigDecimal[] legacyAmounts = new BigDecimal[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = Money.ofMinor(9_900L + i * 137L);
+            legacyAmounts[i] = amounts[i].toBigDecimal();
+        }
+        String[] authors = new String[500];
+        for (int i = 0; i < authors.length; i++) {
+            authors[i] = "author" + i + "@example.com";
+        }
+
+        rows = new ArrayList<>(orders);
+        legacyRows = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            LocalDateTime date = dates[random.nextInt(dates.length)];
+            int amount = random.nextInt(amounts.length);
+            int quantity = 1 + random.nextInt(3);
+            String author = authors[random.nextInt(authors.length)];
+            rows.add(new OrderReportRow(date, amounts[amount], quantity, author));
+            legacyRows.add(new LegacyReport.Row(date, legacyAmounts[amount], quantity, author));
+        }
+    }
+
+    @Benchmark
+    public void aggregate(Blackhole bh) {
+        ReportAggregator aggregator = new ReportAggregator(START, END);
+        for (OrderReportRow row : rows) {
+            aggregator.add(row);
+        }
+        bh.consume(aggregator.revenueByPeriod());
+        bh.consume(aggregator.authorStats());
+        bh.consume(aggregator.salesByDay());
+        bh.consume(aggregator.getTotalQuantity());
+    }
+
+    @Benchmark
+    public void legacyGroupingBy(Blackhole bh) {
+        bh.consume(LegacyReport.revenueByPeriod(legacyRows));
+        bh.consume(LegacyReport.authorStats(legacyRows));
+        bh.consume(LegacyReport.salesByDay(legacyRows));
+        bh.consume(LegacyReport.countSoldProducts(legacyRows));
+    }
+}
@@ -0,0 +1,187 @@
+// Набор нагрузочных сценариев магазина на данных генератора SeedDataGenerator (профиль Spring "seed").
+//
+// Сценарии выполняются одновременно, каждый со своей интенсивностью (итераций в секунду):
+//   browse   - каталог и карточка товара
+//   search   - поиск товаров по названию на главной странице
+//   cart     - добавление товаров в корзину и просмотр корзины
+//   checkout - покупка товара из корзины
+//   reports  - отчет за год и выгрузка в Excel (администратор)
+//
+// Подготовка и запуск:
+//   java -jar target/musicstore-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=seed    # один раз, заполнить базу
+//   java -jar target/musicstore-0.0.1-SNAPSHOT-exec.jar
+//   k6 run -e LABEL=baseline load-tests/k6/scenarios.js
+// Итоги по каждому endpoint (запросов в секунду, p50, p95, p99, доля ошибок) пишутся
+// в load-tests/results/scenarios-<LABEL>.json, чтобы сравнивать прогоны до и после изменения.
+//
+// Переменные окружения:
+//   BASE_URL       адрес приложения (по умолчанию http://localhost:8080)
+//   EMAIL_DOMAIN   домен пользователей генератора (seed.email-domain)
+//   PASSWORD       пароль пользователей генератора (seed.password)
+//   USERS          число пользователей генератора (seed.users)
+//   PRODUCTS       число товаров генератора (seed.products); id товаров считаются от 1
+//   DURATION       длительность прогона (по умолчанию 5m)
+//   RATE           множитель интенсивности всех сценариев (по умолчанию 1)
+//   LABEL          метка прогона для файла результатов
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const EMAIL_DOMAIN = __ENV.EMAIL_DOMAIN || 'seed.example.com';
+const PASSWORD = __ENV.PASSWORD || 'password';
+const USERS = parseInt(__ENV.USERS || '100000', 10);
+const PRODUCTS = parseInt(__ENV.PRODUCTS || '200000', 10);
+const DURATION = __ENV.DURATION || '5m';
+const RATE = parseFloat(__ENV.RATE || '1');
+const LABEL = __ENV.LABEL || 'local';
+
+// Слова из названий товаров генератора
+const WORDS = ['Guitar', 'Bass', 'Piano', 'Synth', 'Drums', 'Violin', 'Amp', 'Ukulele'];
+
+// Все endpoint, по которым считаются итоги
+const ENDPOINTS = ['login', 'catalog', 'product', 'search', 'cart_add', 'cart', 'checkout', 'report_data', 'report_excel'];
+
+function scenario(exec, rate) {
+    return {
+        executor: 'constant-arrival-rate',
+        exec: exec,
+        // Интенсивность задается в минуту, чтобы допускать дробные значения в секунду
+        rate: Math.max(1, Math.round(rate * 60 * RATE)),
+        timeUnit: '1m',
+        duration: DURATION,
+        preAllocatedVUs: 50,
+        maxVUs: 500,
+    };
+}
+
+const thresholds = { http_req_failed: ['rate<0.01'] };
+for (const endpoint of ENDPOINTS) {
+    // Пороги по тегу нужны и для того, чтобы k6 посчитал метрики отдельно для каждого endpoint
+    thresholds[`http_req_duration{endpoint:${endpoint}}`] = ['p(99)<5000'];
+    thresholds[`http_reqs{endpoint:${endpoint}}`] = ['count>=0'];
+    thresholds[`http_req_failed{endpoint:${endpoint}}`] = ['rate<0.05'];
+}
+
+export const options = {
+    scenarios: {
+        browse: scenario('browse', 40),
+        search: scenario('search', 20),
+        cart: scenario('cart', 10),
+        checkout: scenario('checkout', 3),
+        reports: scenario('reports', 0.5),
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+    thresholds: thresholds,
+};
+
+function get(path, endpoint) {
+    return http.get(`${BASE_URL}${path}`, { tags: { endpoint: endpoint } });
+}
+
+function randomProductId() {
+    return 1 + Math.floor(Math.random() * PRODUCTS);
+}
+
+// CSRF-токен из формы на странице
+function csrfFrom(res) {
+    return res.html().find('input[name=_csrf]').attr('value');
+}
+
+// Вход пользователя один раз на VU: сессионная cookie остается в cookie jar VU
+let loggedInAs = null;
+function loginAs(email) {
+    if (loggedInAs === email) {
+        return;
+    }
+    const form = get('/login', 'login');
+    const res = http.post(`${BASE_URL}/login`,
+        { username: email, password: PASSWORD, _csrf: csrfFrom(form) },
+        { tags: { endpoint: 'login' }, redirects: 0 });
+    if (check(res, { 'login redirect': (r) => r.status === 302 && !String(r.headers.Location).includes('error') })) {
+        loggedInAs = email;
+    }
+}
+
+function randomUser() {
+    return `user${Math.floor(Math.random() * USERS)}@${EMAIL_DOMAIN}`;
+}
+
+export function browse() {
+    loginAs(randomUser());
+    const catalog = get('/catalog', 'catalog');
+    check(catalog, { 'catalog 200': (r) => r.status === 200 });
+    const product = get(`/product/${randomProductId()}`, 'product');
+    check(product, { 'product 200': (r) => r.status === 200 });
+    sleep(Math.random());
+}
+
+export function search() {
+    loginAs(randomUser());
+    const word = WORDS[Math.floor(Math.random() * WORDS.length)];
+    const res = get(`/home?title=${encodeURIComponent(word)}`, 'search');
+    check(res, { 'search 200': (r) => r.status === 200 });
+}
+
+// Добавление товара в корзину; возвращает страницу корзины (с CSRF-токеном для оформления)
+function addToCart() {
+    const catalog = get('/catalog', 'catalog');
+    const add = http.post(`${BASE_URL}/cart/add/${randomProductId()}`, { _csrf: csrfFrom(catalog) },
+        { tags: { endpoint: 'cart_add' }, redirects: 0 });
+    check(add, { 'cart add redirect': (r) => r.status === 302 });
+    const cart = get('/cart', 'cart');
+    check(cart, { 'cart 200': (r) => r.status === 200 });
+    return cart;
+}
+
+export function cart() {
+    loginAs(randomUser());
+    addToCart();
+}
+
+export function checkout() {
+    loginAs(randomUser());
+    const cartPage = addToCart();
+    const res = http.post(`${BASE_URL}/cart/checkout/buy`, { _csrf: csrfFrom(cartPage) },
+        { tags: { endpoint: 'checkout' }, redirects: 0 });
+    // 302 - покупка прошла, 200 - страница корзины с ошибкой (товар уже продан и т.п.): оба ответа штатные
+    check(res, { 'checkout handled': (r) => r.status === 302 || r.status === 200 });
+}
+
+export function reports() {
+    loginAs(`admin@${EMAIL_DOMAIN}`);
+    const period = 'startDate=2024-01-01&endDate=2024-12-31';
+    const data = get(`/api/reports/data?${period}`, 'report_data');
+    check(data, { 'report 200': (r) => r.status === 200 });
+    const excel = get(`/api/reports/export/all/excel?${period}`, 'report_excel');
+    check(excel, { 'excel 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const endpoints = {};
+    for (const endpoint of ENDPOINTS) {
+        const duration = data.metrics[`http_req_duration{endpoint:${endpoint}}`];
+        const reqs = data.metrics[`http_reqs{endpoint:${endpoint}}`];
+        const failed = data.metrics[`http_req_failed{endpoint:${endpoint}}`];
+        if (!duration || !reqs || reqs.values.count === 0) {
+            continue;
+        }
+        endpoints[endpoint] = {
+            rps: reqs.values.count / seconds,
+            p50: duration.values.med,
+            p95: duration.values['p(95)'],
+            p99: duration.values['p(99)'],
+            failedRate: failed ? failed.values.rate : 0,
+        };
+    }
+    const summary = {
+        label: LABEL,
+        rps: data.metrics.http_reqs.values.rate,
+        failedRate: data.metrics.http_req_failed.values.rate,
+        endpoints: endpoints,
+    };
+    return {
+        stdout: JSON.stringify(summary, null, 2) + '\n',
+        [`load-tests/results/scenarios-${LABEL}.json`]: JSON.stringify(summary, null, 2),
+    };
+}
@@ -0,0 +1,90 @@
+// Нагрузочный тест веб-слоя: сравнение пула потоков Tomcat и режима виртуальных потоков.
+//
+// Сценарий пользователя: вход (форма /login с CSRF), каталог, корзина, главная страница.
+// Все обработчики блокируются на JDBC (findByEmail, findAll), поэтому на 2000 одновременных
+// пользователей пул Tomcat (200 потоков) становится очередью, а виртуальные потоки упираются в пул Hikari.
+//
+// Запуск (два прогона на одной и той же базе и машине):
+//   java -jar target/musicstore-0.0.1-SNAPSHOT-exec.jar                                # платформенные потоки
+//   k6 run -e MODE=platform load-tests/k6/web-tier.js
+//   mvn -Pjava21 package && java -jar target/musicstore-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=virtual
+//   k6 run -e MODE=virtual load-tests/k6/web-tier.js
+// Итоги (RPS, p95, p99, доля ошибок) пишутся в load-tests/results/web-tier-<MODE>.json.
+//
+// Переменные окружения:
+//   BASE_URL       адрес приложения (по умолчанию http://localhost:8080)
+//   USER_EMAIL     email тестового пользователя
+//   USER_PASSWORD  пароль тестового пользователя
+//   VUS            число одновременных пользователей (по умолчанию 2000)
+//   MODE           метка прогона для файла результатов (platform / virtual)
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USER_EMAIL = __ENV.USER_EMAIL || 'user@example.com';
+const USER_PASSWORD = __ENV.USER_PASSWORD || 'password';
+const VUS = parseInt(__ENV.VUS || '2000', 10);
+const MODE = __ENV.MODE || 'platform';
+
+export const options = {
+    scenarios: {
+        browse: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '1m', target: VUS },   // разгон
+                { duration: '3m', target: VUS },   // плато
+                { duration: '30s', target: 0 },    // спад
+            ],
+            gracefulRampDown: '30s',
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{page:catalog}': ['p(99)<2000'],
+    },
+};
+
+// Вход пользователя: CSRF-токен берется из формы, сессионная cookie сохраняется в cookie jar VU
+function login() {
+    const form = http.get(`${BASE_URL}/login`, { tags: { page: 'login' } });
+    const csrf = form.html().find('input[name=_csrf]').attr('value');
+    const res = http.post(`${BASE_URL}/login`,
+        { username: USER_EMAIL, password: USER_PASSWORD, _csrf: csrf },
+        { tags: { page: 'login' }, redirects: 0 });
+    check(res, { 'login redirect': (r) => r.status === 302 && !String(r.headers.Location).includes('error') });
+}
+
+export default function () {
+    if (__ITER === 0) {
+        login();
+    }
+
+    const catalog = http.get(`${BASE_URL}/catalog`, { tags: { page: 'catalog' } });
+    check(catalog, { 'catalog 200': (r) => r.status === 200 });
+
+    const cart = http.get(`${BASE_URL}/cart`, { tags: { page: 'cart' } });
+    check(cart, { 'cart 200': (r) => r.status === 200 });
+
+    const home = http.get(`${BASE_URL}/home`, { tags: { page: 'home' } });
+    check(home, { 'home 200': (r) => r.status === 200 });
+
+    sleep(Math.random() * 2);
+}
+
+export function handleSummary(data) {
+    const duration = data.metrics.http_req_duration.values;
+    const summary = {
+        mode: MODE,
+        vus: VUS,
+        rps: data.metrics.http_reqs.values.rate,
+        p95: duration['p(95)'],
+        p99: duration['p(99)'],
+        failedRate: data.metrics.http_req_failed.values.rate,
+    };
+    return {
+        stdout: JSON.stringify(summary, null, 2) + '\n',
+        [`load-tests/results/web-tier-${MODE}.json`]: JSON.stringify(summary, null, 2),
+    };
+}
@@ -1,24 +1,30 @@
 package com.example.musicstore.MusicstoreApplication;
 
+import com.example.musicstore.configurations.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+// Сканируются только пакеты с компонентами Spring: сущности подключает @EntityScan, шаблоны Thymeleaf - не классы.
+// Контроллеры и сервисы, нужные только администратору (Admin*Controller, отчеты, выгрузки), помечены @Lazy:
+// они создаются при первом запросе к админ-панели, а не при старте приложения.
+// Быстрый запуск (AOT и архив CDS): профиль Maven fast-startup и скрипты в папке startup/;
+// native-image: профиль Maven native, подсказки GraalVM в NativeHints.
 @SpringBootApplication(scanBasePackages = {
 		"com.example.musicstore.configurations",
-		"com.example.musicstore.models",
 		"com.example.musicstore.controller",
 		"com.example.musicstore.services",
-		"com.example.musicstore.repositories",
-		"com.example.resources.templates"
+		"com.example.musicstore.repositories"
 })
 @EnableJpaRepositories("com.example.musicstore.repositories")  // ← Добавьте это
 @EntityScan("com.example.musicstore.models")                 // ← И это
+@ImportRuntimeHints(NativeHints.class)
 public class MusicstoreApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(MusicstoreApplication.class, args);
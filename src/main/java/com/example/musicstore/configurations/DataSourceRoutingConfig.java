@@ -0,0 +1,89 @@
+package com.example.musicstore.configurations;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Разделение чтения и записи между основной базой и репликой (включается заданием replica.datasource.url).
+ *
+ * Основной DataSource приложения - LazyConnectionDataSourceProxy: физическое соединение берется при первом запросе,
+ * когда уже известно, только ли для чтения транзакция. Транзакции @Transactional(readOnly = true)
+ * (отчеты через ReportExecutor, чтения репозиториев вне транзакции - методы Spring Data по умолчанию readOnly)
+ * получают соединение с репликой, остальные - с основной базой. При отставании или недоступности реплики
+ * чтения идут в основную базу (ReplicaLagMonitor).
+ *
+ * Согласованность с кешами: сразу после записи реплика может отдать старую строку. Чтения не переводятся
+ * на основную базу, но в течение max-lag + check-interval после записи прочитанное с реплики не кладется
+ * в кеш второго уровня (ReplicaCacheGuard) и в CurrentUserResolver. Сам такой запрос может показать
+ * данные до записи, но они не задерживаются в кешах на время их ttl.
+ *
+ * Пулы называются primary и replica; метрики Hikari (hikaricp.connections.*) выдаются с тегом pool.
+ * Без replica.datasource.url эта конфигурация не создается и Spring Boot настраивает один пул как раньше.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.datasource.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(@Value("${replica.datasource.url}") String url,
+                                              @Value("${replica.datasource.username:${spring.datasource.username:}}") String username,
+                                              @Value("${replica.datasource.password:${spring.datasource.password:}}") String password) {
+        // Драйвер определяется по URL (репликой локально может быть другая встроенная база)
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${replica.datasource.max-lag:5s}") Duration maxLag,
+                                               @Value("${replica.datasource.check-interval:5s}") Duration checkInterval,
+                                               @Value("${replica.datasource.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+                                               @Value("${replica.datasource.lag-column:Seconds_Behind_Source}") String lagColumn) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag, checkInterval, lagQuery, lagColumn);
+    }
+
+    @Bean
+    public ReplicaCacheGuard replicaCacheGuard(EntityManagerFactory entityManagerFactory,
+                                               ReplicaLagMonitor replicaLagMonitor) {
+        return new ReplicaCacheGuard(entityManagerFactory, replicaLagMonitor);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaLagMonitor.readOnlyDataSource());
+        return dataSource;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.musicstore.configurations;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение числа одновременных проверок пароля (POST /login).
+ * BCrypt намеренно медленный, и всплеск попыток входа (подбор паролей по базам утечек) мог бы занять
+ * все потоки Tomcat и процессор. Одновременно проверяется не больше security.login.max-concurrent паролей;
+ * запрос, не дождавшийся очереди за security.login.wait, получает 429 с Retry-After.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private final int limit;
+    private final Semaphore permits;
+    private final long waitNanos;
+    private final StoreMetrics storeMetrics;
+
+    public LoginThrottleFilter(@Value("${security.login.max-concurrent:0}") int maxConcurrent,
+                               @Value("${security.login.wait:500ms}") Duration wait,
+                               StoreMetrics storeMetrics) {
+        // 0 - по числу процессоров: больше одновременных BCrypt все равно не выполнить
+        this.limit = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(limit, true);
+        this.waitNanos = wait.toNanos();
+        this.storeMetrics = storeMetrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("POST".equals(request.getMethod()) && "/login".equals(request.getServletPath()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            storeMetrics.loginRejected();
+            log.warn("Попытка входа отклонена: все {} слотов проверки пароля заняты", limit);
+            // Ответ пишется сразу, без перехода на /error (он требует входа и превратился бы в редирект)
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Слишком много попыток входа, повторите через секунду");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.musicstore.configurations;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Перенос MDC (requestId) из потока, создавшего задачу, в поток, который ее выполняет.
+ * Spring Boot применяет бин TaskDecorator к пулу @Async; ReportExecutor применяет его к пулу отчетов.
+ * После выполнения восстанавливается прежний MDC: при переполнении очереди задача отчета
+ * выполняется в вызывающем потоке, и его MDC нельзя просто очистить.
+ */
+@Component
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                runnable.run();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
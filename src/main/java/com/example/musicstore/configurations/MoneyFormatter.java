@@ -0,0 +1,22 @@
+package com.example.musicstore.configurations;
+
+import com.example.musicstore.models.Money;
+import org.springframework.format.Formatter;
+
+import java.util.Locale;
+
+/**
+ * Форматтер Spring MVC для привязки полей формы к Money (например, цена в форме товара)
+ */
+public class MoneyFormatter implements Formatter<Money> {
+
+    @Override
+    public Money parse(String text, Locale locale) {
+        return Money.parse(text);
+    }
+
+    @Override
+    public String print(Money money, Locale locale) {
+        return money.toString();
+    }
+}
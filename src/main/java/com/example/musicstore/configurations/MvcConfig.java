@@ -1,13 +1,13 @@
 package com.example.musicstore.configurations;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import static com.example.musicstore.services.ProductService.UPLOAD_DIR;
 
 
-//не используется, создавался для тестирования
 @Configuration
 public class MvcConfig implements WebMvcConfigurer {
     @Override
@@ -15,4 +15,9 @@ public class MvcConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/" + UPLOAD_DIR + "/**")
                 .addResourceLocations("file:" + UPLOAD_DIR + "/");
     }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addFormatter(new MoneyFormatter());
+    }
 }
@@ -0,0 +1,83 @@
+package com.example.musicstore.configurations;
+
+import com.example.musicstore.models.AuthorStats;
+import com.example.musicstore.models.AuthorsReport;
+import com.example.musicstore.models.Cart;
+import com.example.musicstore.models.CartItem;
+import com.example.musicstore.models.CartValidationResult;
+import com.example.musicstore.models.DashboardStats;
+import com.example.musicstore.models.Image;
+import com.example.musicstore.models.LatestOrderStatus;
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.NotificationRequest;
+import com.example.musicstore.models.Order;
+import com.example.musicstore.models.OrderReportRow;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.ProductDto;
+import com.example.musicstore.models.ReportData;
+import com.example.musicstore.models.RevenueByPeriod;
+import com.example.musicstore.models.RevenueReport;
+import com.example.musicstore.models.SalesByDay;
+import com.example.musicstore.models.SalesReport;
+import com.example.musicstore.models.StatusDistribution;
+import com.example.musicstore.models.User;
+import com.example.musicstore.models.UserProfile;
+import com.example.musicstore.models.enums.OrderStatus;
+import com.example.musicstore.models.enums.Role;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Подсказки для сборки native-image (профиль Maven native): то, что GraalVM не видит при анализе кода,
+ * потому что оно читается по имени во время работы.
+ *
+ * Сущности JPA, репозитории, контроллеры и тела JSON-ответов Spring AOT описывает сам. Здесь:
+ * модели, геттеры которых (сгенерированные Lombok) Thymeleaf вызывает через SpEL, и DTO с конструкторами
+ * для "select new" в JPQL; шаблоны и статика; метрики стандартных шрифтов и глифы PDFBox;
+ * скомпилированные схемы XMLBeans, по которым POI пишет xlsx.
+ * Подключается через @ImportRuntimeHints в MusicstoreApplication.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    // Модели, которые читаются рефлексией: шаблоны Thymeleaf, JPQL "select new", сессия (корзина)
+    static final List<Class<?>> MODELS = List.of(
+            AuthorStats.class, AuthorsReport.class, Cart.class, CartItem.class, CartValidationResult.class,
+            CartValidationResult.PriceChange.class, CartValidationResult.UnavailableItem.class, DashboardStats.class,
+            Image.class, LatestOrderStatus.class, Money.class, NotificationRequest.class,
+            NotificationRequest.NotificationType.class, Order.class, OrderReportRow.class, Product.class,
+            Product.ProductStatus.class, ProductDto.class, ReportData.class, RevenueByPeriod.class,
+            RevenueReport.class, SalesByDay.class, SalesReport.class, StatusDistribution.class, User.class,
+            UserProfile.class, OrderStatus.class, Role.class);
+
+    // Ресурсы приложения и библиотек выгрузки отчетов
+    static final List<String> RESOURCES = List.of(
+            "templates/**",
+            "static/**",
+            "ehcache.xml",
+            "db/migration/*.sql",
+            "org/apache/pdfbox/resources/**",
+            "org/apache/fontbox/resources/**",
+            "org/apache/poi/schemas/ooxml/**");
+
+    // Точка входа XMLBeans в схемы OOXML: создается по имени
+    static final String POI_TYPE_SYSTEM = "org.apache.poi.schemas.ooxml.system.ooxml.TypeSystemHolder";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> model : MODELS) {
+            hints.reflection().registerType(model,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        for (String pattern : RESOURCES) {
+            hints.resources().registerPattern(pattern);
+        }
+        hints.reflection().registerTypeIfPresent(classLoader, POI_TYPE_SYSTEM,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.DECLARED_FIELDS);
+    }
+}
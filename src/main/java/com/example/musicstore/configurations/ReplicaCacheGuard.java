@@ -0,0 +1,49 @@
+package com.example.musicstore.configurations;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Не дает строкам с отстающей реплики попасть в кеш второго уровня.
+ *
+ * Слушатель транзакций (Spring Boot подключает бины TransactionExecutionListener к менеджеру транзакций):
+ * фиксация транзакции не только для чтения отмечается в ReplicaLagMonitor, а транзакция только для чтения,
+ * начатая вскоре после записи (isReadCacheable), читает кеш второго уровня, но не кладет в него
+ * загруженное с реплики (CacheMode.GET). Так после пополнения баланса или массовой отмены броней
+ * чтение с реплики не вернет в кеш старые User и Product на 30 минут; чтения вне этого окна и
+ * изменения через Hibernate (обновленная сущность кладется в кеш при фиксации) кешируются как обычно.
+ * Создается в DataSourceRoutingConfig вместе с репликой.
+ */
+public class ReplicaCacheGuard implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReplicaCacheGuard(EntityManagerFactory entityManagerFactory, ReplicaLagMonitor replicaLagMonitor) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isReadOnly() || replicaLagMonitor.isReadCacheable()) {
+            return;
+        }
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (!transaction.isReadOnly()) {
+            replicaLagMonitor.recordWrite();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.musicstore.configurations;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Состояние реплики для чтения: раз в replica.datasource.check-interval выполняет на реплике запрос отставания
+ * (по умолчанию SHOW REPLICA STATUS, колонка Seconds_Behind_Source). Если реплика недоступна, репликация
+ * остановлена или отставание больше replica.datasource.max-lag, чтения временно идут в основную базу.
+ *
+ * readOnlyDataSource() - источник для LazyConnectionDataSourceProxy.setReadOnlyDataSource: соединение с репликой,
+ * пока она пригодна, иначе соединение с основной базой. Создается в DataSourceRoutingConfig.
+ *
+ * Реплика может не содержать последних записей этого экземпляра (до max-lag), поэтому прочитанное с нее
+ * в течение max-lag + check-interval после записи не кладется в кеши (isReadCacheable, ReplicaCacheGuard):
+ * иначе старая строка осталась бы в кеше второго уровня на его ttl.
+ * Метрики: musicstore.replica.lag (секунды), musicstore.replica.usable (1/0), musicstore.replica.fallback.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder, DisposableBean {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final ScheduledExecutorService scheduler;
+
+    // Сколько после записи чтения с реплики не кешируются: max-lag + check-interval
+    private final long writeWindowNanos;
+    // Время последней записи этого экземпляра (System.nanoTime)
+    private volatile long lastWriteNanos;
+
+    // Последнее измеренное отставание и пригодность реплики
+    private volatile double lagSeconds;
+    private volatile boolean usable = true;
+
+    // Чтения, отправленные в основную базу вместо реплики
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration checkInterval,
+                             String lagQuery, String lagColumn) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.writeWindowNanos = maxLag.plus(checkInterval).toNanos();
+        this.lastWriteNanos = System.nanoTime() - writeWindowNanos - 1;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = checkInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Источник соединений для транзакций только для чтения
+     */
+    public DataSource readOnlyDataSource() {
+        return new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (usable) {
+                    try {
+                        return replica.getConnection();
+                    } catch (SQLException e) {
+                        markUnusable("соединение не получено: " + e.getMessage());
+                    }
+                }
+                fallbacks.incrementAndGet();
+                return primary.getConnection();
+            }
+        };
+    }
+
+    /**
+     * Проверка отставания реплики
+     */
+    void check() {
+        try (Connection connection = replica.getConnection()) {
+            double lag = lagQuery.isBlank() ? 0 : queryLag(connection);
+            lagSeconds = lag;
+            if (lag < 0) {
+                markUnusable("репликация остановлена");
+            } else if (lag > maxLag.toSeconds()) {
+                markUnusable("отставание " + lag + " с");
+            } else if (!usable) {
+                usable = true;
+                log.info("Реплика снова используется для чтения, отставание {} с", lag);
+            }
+        } catch (SQLException | RuntimeException e) {
+            markUnusable("проверка не удалась: " + e.getMessage());
+        }
+    }
+
+    boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Отметка о записи в основную базу (фиксация транзакции не только для чтения)
+     */
+    public void recordWrite() {
+        lastWriteNanos = System.nanoTime();
+    }
+
+    /**
+     * Можно ли кешировать прочитанное в транзакции только для чтения: реплика сейчас не используется
+     * (чтения идут в основную базу) или последняя запись была раньше max-lag + check-interval и уже дошла до реплики
+     */
+    public boolean isReadCacheable() {
+        return !usable || System.nanoTime() - lastWriteNanos > writeWindowNanos;
+    }
+
+    // Отставание в секундах; -1, если репликация остановлена; 0, если сервер не реплика (например, тестовая база)
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return 0;
+            }
+            Object value = resultSet.getObject(lagColumn);
+            return value == null ? -1 : Double.parseDouble(value.toString());
+        }
+    }
+
+    private void markUnusable(String reason) {
+        if (usable) {
+            usable = false;
+            log.warn("Реплика временно не используется, чтения идут в основную базу: {}", reason);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("musicstore.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Отставание реплики для чтения")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("musicstore.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("Используется ли реплика для чтения")
+                .register(registry);
+        FunctionCounter.builder("musicstore.replica.fallback", fallbacks, AtomicLong::get)
+                .description("Чтения, отправленные в основную базу вместо реплики")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.musicstore.configurations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный пул потоков для параллельного построения разделов отчета.
+ * Каждая задача выполняется в собственной транзакции только для чтения
+ * (транзакция вызывающего потока в потоки пула не передается).
+ * При превышении reports.timeout задачи отменяются: поток задачи прерывается, а запросы к базе
+ * ограничены таймаутом транзакции, равным reports.timeout (прерывание потока JDBC-запрос не останавливает).
+ *
+ * В режиме виртуальных потоков (spring.threads.virtual.enabled=true и Java 21+) задачи выполняются
+ * в виртуальных потоках, а ограничение пула заменяется ограничением числа одновременных задач.
+ * На Java 17 флаг не действует (как и для остального Spring Boot), используется обычный пул.
+ * MDC вызывающего потока (requestId) передается в задачи через MdcTaskDecorator.
+ *
+ * Пул намеренно не объявлен как бин Executor: иначе Spring Boot не создаст
+ * стандартный пул для @Async и письма NotificationService начнут выполняться в пуле отчетов.
+ */
+@Slf4j
+@Component
+public class ReportExecutor implements DisposableBean {
+
+    // Пул потоков отчетов (null в режиме виртуальных потоков)
+    private final ThreadPoolExecutor pool;
+
+    // Исполнитель задач: пул или виртуальные потоки
+    private final Executor executor;
+
+    // Шаблон транзакции только для чтения
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Общий лимит времени на построение отчета
+    private final Duration timeout;
+
+    public ReportExecutor(PlatformTransactionManager transactionManager,
+                          MdcTaskDecorator mdcTaskDecorator,
+                          @Value("${reports.executor.threads:4}") int threads,
+                          @Value("${reports.executor.queue-capacity:32}") int queueCapacity,
+                          @Value("${reports.timeout:15s}") Duration timeout,
+                          Environment environment) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Таймаут транзакции в секундах: Hibernate передает остаток времени в JDBC как таймаут запроса
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, timeout.toSeconds()));
+        this.timeout = timeout;
+
+        // Флаг и версия Java проверяются вместе: на Java 17 setVirtualThreads(true) бросает исключение
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Новый виртуальный поток на задачу; при превышении лимита вызывающий поток ждет
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("report-");
+            virtual.setVirtualThreads(true);
+            virtual.setConcurrencyLimit(threads);
+            virtual.setTaskDecorator(mdcTaskDecorator);
+            this.pool = null;
+            this.executor = virtual;
+            return;
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        // При заполненной очереди задача выполняется в вызывающем потоке (отчет строится последовательно, но не падает)
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "report-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor = task -> pool.execute(mdcTaskDecorator.decorate(task));
+    }
+
+    /**
+     * Запуск задачи в пуле отчетов в транзакции только для чтения
+     * @param task задача
+     * @return результат задачи; cancel(true) прерывает поток, в котором выполняется задача
+     */
+    public <T> CompletableFuture<T> supplyReadOnly(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // FutureTask знает поток выполнения, в отличие от CompletableFuture.supplyAsync
+        FutureTask<Void> running = new FutureTask<>(() -> {
+            try {
+                result.complete(readOnlyTransaction.execute(status -> task.get()));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                running.cancel(true);
+            }
+        });
+        executor.execute(running);
+        return result;
+    }
+
+    /**
+     * Ожидание всех задач с общим лимитом времени
+     * @param futures задачи
+     * @throws IllegalStateException если лимит времени превышен или ожидание прервано
+     * @throws RuntimeException исключение, выброшенное задачей
+     */
+    public void awaitAll(CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            for (CompletableFuture<?> future : futures) {
+                future.cancel(true);
+            }
+            throw new IllegalStateException("Превышено время формирования отчета (" + timeout.toSeconds() + " с)", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Формирование отчета прервано", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ошибка формирования отчета", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.debug("Пул потоков отчетов остановлен");
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.musicstore.configurations;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL-статистика текущего HTTP-запроса: число выполненных операторов, суммарное время выполнения
+ * и повторы одинаковых операторов (признак N+1). Хранится в ThreadLocal потока запроса,
+ * поэтому запросы, выполненные в других потоках (пул отчетов, boundedElastic), сюда не попадают.
+ * Заполняется SqlBudgetConfig (StatementInspector и SessionEventListener Hibernate), читается SqlBudgetFilter.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    // Ограничение числа различных операторов, которые запоминаются для поиска повторов
+    private static final int MAX_DISTINCT = 256;
+
+    private int statements;
+    private long executionNanos;
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    private RequestSqlStats() {
+    }
+
+    /**
+     * Начало учета для запроса в текущем потоке
+     */
+    public static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Статистика текущего запроса или null, если поток не обрабатывает HTTP-запрос
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Окончание учета в текущем потоке
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void statement(String sql) {
+        statements++;
+        if (counts.size() < MAX_DISTINCT || counts.containsKey(sql)) {
+            counts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void executed(long nanos) {
+        executionNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    /**
+     * Оператор, выполненный больше всего раз
+     * @return оператор и число выполнений или null, если операторов не было
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return counts.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+}
@@ -1,32 +1,47 @@
 package com.example.musicstore.configurations;
 
 import com.example.musicstore.services.CustomUserDetailsService;
+import com.example.musicstore.services.UserDetailsCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, UserDetailsCache userDetailsCache) {
         this.userDetailsService = userDetailsService;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
                         // Публичные пути
                         .requestMatchers("/","/balance", "/cart","/login","/catalog", "/registration", "/static/**", "/css/**", "/js/**", "/images/**", "/uploads/**").permitAll()
 
+                        // Проверка состояния, пробы готовности и метрики для Prometheus (доступ к /actuator ограничивается на уровне сети)
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+
+                        // Публичный JSON API каталога (только чтение)
+                        .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
+
                         // Путь для перенаправления личного кабинета
                         .requestMatchers("/personal-account").authenticated()
 
@@ -51,7 +66,7 @@ public class SecurityConfig {
                         .logoutSuccessUrl("/login?logout=true")
                         .permitAll()
                 )
-                .userDetailsService(userDetailsService);
+                .authenticationProvider(authenticationProvider(passwordEncoder));
 
         return http.build();
     }
@@ -70,9 +85,34 @@ public class SecurityConfig {
         };
     }
 
+    /**
+     * Проверка пароля при входе: пользователь берется из UserDetailsCache (база читается только при промахе
+     * или несовпадении пароля), устаревший хеш после успешного входа перехешируется и сохраняется
+     */
+    private DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserCache(userDetailsCache);
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            // Иначе следующий вход из кеша снова увидел бы старый хеш и перехешировал его повторно
+            userDetailsCache.removeUserFromCache(user.getUsername());
+            return userDetailsService.updatePassword(user, newPassword);
+        });
+        return provider;
+    }
+
+    /**
+     * Кодировщик паролей: новые хеши - "{bcrypt}" со стоимостью security.password.bcrypt-strength.
+     * Старые хеши без префикса проверяются как BCrypt и перехешируются при входе,
+     * так же как хеши с другой стоимостью BCrypt
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
     //метод  Аутентификации (Spring Security)  public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException
     //находится в UserService
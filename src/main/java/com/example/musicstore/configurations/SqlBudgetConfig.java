@@ -0,0 +1,75 @@
+package com.example.musicstore.configurations;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Подключение учета SQL по запросам к Hibernate:
+ * StatementInspector считает каждый подготовленный оператор, SessionEventListener - время выполнения.
+ * Результаты складываются в RequestSqlStats текущего потока (если он обрабатывает HTTP-запрос).
+ */
+@Configuration
+public class SqlBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlBudgetHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TimingSessionListener.class.getName());
+        };
+    }
+
+    /**
+     * Подсчет операторов; SQL не изменяется
+     */
+    public static class CountingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            RequestSqlStats stats = RequestSqlStats.current();
+            if (stats != null) {
+                stats.statement(sql);
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Время выполнения операторов и пакетов; Hibernate создает экземпляр на каждую сессию
+     */
+    public static class TimingSessionListener implements SessionEventListener {
+
+        private long started;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            started = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            record();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            started = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            record();
+        }
+
+        private void record() {
+            RequestSqlStats stats = RequestSqlStats.current();
+            if (stats != null) {
+                stats.executed(System.nanoTime() - started);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.musicstore.configurations;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Бюджет SQL на HTTP-запрос: считает операторы и время их выполнения за запрос (RequestSqlStats),
+ * пишет предупреждение, если превышено sql.budget.statements или sql.budget.time,
+ * и складывает статистику по обработчикам в SqlBudgetReport (GET /admin/sql-budget).
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetReport report;
+    private final int maxStatements;
+    private final Duration maxTime;
+
+    public SqlBudgetFilter(SqlBudgetReport report,
+                           @Value("${sql.budget.statements:20}") int maxStatements,
+                           @Value("${sql.budget.time:500ms}") Duration maxTime) {
+        this.report = report;
+        this.maxStatements = maxStatements;
+        this.maxTime = maxTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.stop();
+            if (stats.getStatements() > 0) {
+                finish(request, stats);
+            }
+        }
+    }
+
+    private void finish(HttpServletRequest request, RequestSqlStats stats) {
+        // Шаблон URL обработчика (/product/{id}), чтобы не плодить записи по каждому id
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+        boolean overBudget = stats.getStatements() > maxStatements || stats.getExecutionNanos() > maxTime.toNanos();
+        String requestId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        report.record(endpoint, stats, overBudget, requestId);
+
+        if (overBudget) {
+            Map.Entry<String, Integer> repeated = stats.mostRepeated();
+            log.warn("Превышен бюджет SQL: {} - {} операторов, {} мс (бюджет {} операторов, {} мс); чаще всего x{}: {}",
+                    endpoint, stats.getStatements(), stats.getExecutionNanos() / 1_000_000,
+                    maxStatements, maxTime.toMillis(), repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.musicstore.configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Сводка SQL по обработчикам запросов ("GET /catalog"): сколько раз вызывались, сколько раз превышали бюджет,
+ * худший запрос по числу операторов и самый повторяющийся в нем оператор.
+ * Ключи - шаблоны URL обработчиков, поэтому число записей ограничено числом endpoint.
+ */
+@Component
+public class SqlBudgetReport {
+
+    /**
+     * Строка сводки для администратора
+     */
+    public record Offender(String endpoint, long requests, long overBudget, int maxStatements, long maxTimeMillis,
+                           String worstRequestId, String mostRepeatedSql, int mostRepeatedCount) {
+    }
+
+    // Накопленная статистика по одному обработчику (изменяется под блокировкой записи)
+    private static final class Entry {
+        long requests;
+        long overBudget;
+        int maxStatements;
+        long maxTimeNanos;
+        String worstRequestId;
+        String mostRepeatedSql;
+        int mostRepeatedCount;
+    }
+
+    // Максимальная длина SQL в сводке
+    private static final int MAX_SQL_LENGTH = 500;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int limit;
+
+    public SqlBudgetReport(@Value("${sql.budget.report-size:20}") int limit) {
+        this.limit = limit;
+    }
+
+    void record(String endpoint, RequestSqlStats stats, boolean overBudget, String requestId) {
+        Entry entry = entries.computeIfAbsent(endpoint, key -> new Entry());
+        synchronized (entry) {
+            entry.requests++;
+            if (overBudget) {
+                entry.overBudget++;
+            }
+            entry.maxTimeNanos = Math.max(entry.maxTimeNanos, stats.getExecutionNanos());
+            if (stats.getStatements() > entry.maxStatements) {
+                entry.maxStatements = stats.getStatements();
+                entry.worstRequestId = requestId;
+                var repeated = stats.mostRepeated();
+                entry.mostRepeatedSql = repeated == null ? null : abbreviate(repeated.getKey());
+                entry.mostRepeatedCount = repeated == null ? 0 : repeated.getValue();
+            }
+        }
+    }
+
+    /**
+     * Обработчики с наибольшим числом операторов за один запрос
+     * @return не больше sql.budget.report-size записей, худшие первыми
+     */
+    public List<Offender> worstOffenders() {
+        return entries.entrySet().stream()
+                .map(e -> {
+                    Entry entry = e.getValue();
+                    synchronized (entry) {
+                        return new Offender(e.getKey(), entry.requests, entry.overBudget, entry.maxStatements,
+                                entry.maxTimeNanos / 1_000_000, entry.worstRequestId,
+                                entry.mostRepeatedSql, entry.mostRepeatedCount);
+                    }
+                })
+                .sorted(Comparator.comparingInt(Offender::maxStatements).reversed()
+                        .thenComparing(Comparator.comparingLong(Offender::maxTimeMillis).reversed()))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Очистка сводки (например, после выката исправления)
+     */
+    public void reset() {
+        entries.clear();
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.musicstore.configurations;
+
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.ProductDto;
+import com.example.musicstore.repositories.ProductRepository;
+import com.example.musicstore.services.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Прогрев после запуска, до того как узел начнет принимать трафик.
+ *
+ * Spring Boot переводит готовность (/actuator/health/readiness) в ACCEPTING_TRAFFIC только после
+ * всех ApplicationRunner, поэтому пока идет прогрев, балансировщик видит OUT_OF_SERVICE и не шлет запросы.
+ * За warmup.iterations проходов: первая страница каталога (warmup.catalog-page-size товаров, keyset-запрос JSON API),
+ * карточки первых warmup.product-lookups товаров по id (попадают в кеш второго уровня), поиск по warmup.search-terms,
+ * счетчики по статусам и список авторов (кеш запросов), затем GET страниц warmup.pages
+ * через сам сервер - фильтры, безопасность, разбор шаблонов Thymeleaf и JIT горячих путей.
+ * Таблица товаров целиком не читается: на больших каталогах это задерживало бы готовность и не помещалось в кеш.
+ * Прогрев ограничен warmup.timeout; ошибки прогрева только пишутся в лог и не мешают запуску.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmup implements ApplicationRunner {
+
+    private final ProductService productService;
+    private final ProductRepository productRepository;
+    private final Environment environment;
+    private final int iterations;
+    private final int catalogPageSize;
+    private final int productLookups;
+    private final List<String> searchTerms;
+    private final List<String> pages;
+    private final Duration timeout;
+
+    public StartupWarmup(ProductService productService,
+                         ProductRepository productRepository,
+                         Environment environment,
+                         @Value("${warmup.iterations:5}") int iterations,
+                         @Value("${warmup.catalog-page-size:100}") int catalogPageSize,
+                         @Value("${warmup.product-lookups:10}") int productLookups,
+                         @Value("${warmup.search-terms:Guitar,Piano}") List<String> searchTerms,
+                         @Value("${warmup.pages:/catalog,/login,/registration}") List<String> pages,
+                         @Value("${warmup.timeout:2m}") Duration timeout) {
+        this.productService = productService;
+        this.productRepository = productRepository;
+        this.environment = environment;
+        this.iterations = iterations;
+        this.catalogPageSize = catalogPageSize;
+        this.productLookups = productLookups;
+        this.searchTerms = searchTerms;
+        this.pages = pages;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        // Порт известен после запуска встроенного сервера; без него (тесты без сервера) страницы пропускаются
+        String port = environment.getProperty("local.server.port");
+        HttpClient client = port != null ? HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build() : null;
+
+        int completed = 0;
+        while (completed < iterations && System.nanoTime() < deadline) {
+            try {
+                warmQueries();
+                if (client != null) {
+                    warmPages(client, port);
+                }
+            } catch (Exception e) {
+                log.warn("Прогрев остановлен после {} проходов: {}", completed, e.getMessage());
+                break;
+            }
+            completed++;
+        }
+        log.info("Прогрев завершен за {} мс: {} проходов из {}",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), completed, iterations);
+    }
+
+    // Горячие запросы каталога и поиска (ограниченные по объему)
+    private void warmQueries() {
+        List<ProductDto> page = productRepository.findDtoPage(0L, PageRequest.of(0, catalogPageSize));
+        for (ProductDto product : page.subList(0, Math.min(productLookups, page.size()))) {
+            productService.getProductById(product.getId());
+        }
+        for (String term : searchTerms) {
+            productService.findByTitleContaining(term);
+        }
+        for (Product.ProductStatus status : Product.ProductStatus.values()) {
+            productRepository.countByStatus(status);
+        }
+        productRepository.findAllDistinctAuthors();
+    }
+
+    // Страницы без входа в систему: весь путь запроса от фильтров до шаблона
+    private void warmPages(HttpClient client, String port) throws Exception {
+        for (String page : pages) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + page))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                throw new IllegalStateException("GET " + page + " вернул " + response.statusCode());
+            }
+        }
+    }
+}
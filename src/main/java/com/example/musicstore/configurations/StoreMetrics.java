@@ -0,0 +1,121 @@
+package com.example.musicstore.configurations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бизнес-метрики магазина (Micrometer, выдаются в /actuator/prometheus).
+ * Время ответа контроллеров (http.server.requests) и вызовы репозиториев
+ * (spring.data.repository.invocations) Spring Boot считает сам; здесь - то, что видно только из кода:
+ * исходы покупок и бронирований, время отправки писем, время и размер выгрузок отчетов.
+ */
+@Component
+public class StoreMetrics {
+
+    // Исходы оформления
+    public static final String SUCCESS = "success";
+    public static final String INVALID_CART = "invalid_cart";
+    public static final String INSUFFICIENT_FUNDS = "insufficient_funds";
+    public static final String FAILED = "failed";
+
+    // Откуда оформлен заказ: корзина или кнопка в каталоге
+    public static final String CART = "cart";
+    public static final String QUICK = "quick";
+
+    // Известные типы отчетов; остальные значения пишутся как "other", чтобы не плодить серии
+    private static final Set<String> REPORT_TYPES = Set.of("revenue", "authors", "sales", "all");
+
+    private final MeterRegistry registry;
+
+    public StoreMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Исход покупки
+     * @param source CART или QUICK
+     * @param outcome SUCCESS, INVALID_CART, INSUFFICIENT_FUNDS или FAILED
+     */
+    public void checkout(String source, String outcome) {
+        Counter.builder("musicstore.checkout")
+                .description("Оформление покупки по исходу")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Исход бронирования
+     * @param source CART или QUICK
+     * @param outcome SUCCESS, INVALID_CART или FAILED
+     */
+    public void booking(String source, String outcome) {
+        Counter.builder("musicstore.booking")
+                .description("Бронирование товаров по исходу")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Попытка входа, отклоненная из-за занятых слотов проверки пароля (LoginThrottleFilter)
+     */
+    public void loginRejected() {
+        Counter.builder("musicstore.login.rejected")
+                .description("Попытки входа, отклоненные ограничителем")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Время отправки письма
+     * @param template шаблон письма (или "simple" для текстового)
+     * @param success отправлено ли письмо
+     * @param nanos длительность в наносекундах
+     */
+    public void email(String template, boolean success, long nanos) {
+        Timer.builder("musicstore.email.send")
+                .description("Отправка писем")
+                .tag("template", template)
+                .tag("outcome", success ? SUCCESS : FAILED)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Время построения и размер выгрузки отчета
+     * @param format excel или pdf
+     * @param reportType тип отчета
+     * @param nanos длительность в наносекундах (вместе с построением отчета)
+     * @param bytes размер файла
+     */
+    public void export(String format, String reportType, long nanos, long bytes) {
+        String type = reportType != null && REPORT_TYPES.contains(reportType.toLowerCase()) ? reportType.toLowerCase() : "other";
+        Timer.builder("musicstore.export.duration")
+                .description("Генерация выгрузки отчета")
+                .tag("format", format)
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("musicstore.export.size")
+                .description("Размер выгрузки отчета")
+                .baseUnit("bytes")
+                .minimumExpectedValue(1024.0)
+                .maximumExpectedValue(64.0 * 1024 * 1024)
+                .tag("format", format)
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(bytes);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.musicstore.configurations;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Проверка пула соединений при запуске в режиме виртуальных потоков.
+ * С виртуальными потоками число одновременно обрабатываемых запросов не ограничено пулом Tomcat,
+ * и все блокирующие обращения к базе упираются в пул Hikari. Поэтому:
+ * - суммарный размер пулов всех экземпляров не должен превышать max_connections сервера MySQL
+ *   (иначе при нагрузке база начнет отказывать в соединениях);
+ * - ожидание соединения должно быть коротким, чтобы перегрузка приводила к быстрой ошибке,
+ *   а не к тысячам зависших виртуальных потоков.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsPoolGuard implements InitializingBean {
+
+    // Рекомендуемый максимум ожидания соединения в режиме виртуальных потоков
+    private static final long MAX_CONNECTION_TIMEOUT_MS = 10_000;
+
+    private final DataSource dataSource;
+    private final int serverMaxConnections;
+    private final int instances;
+
+    public VirtualThreadsPoolGuard(DataSource dataSource,
+                                   @Value("${musicstore.db.server-max-connections:151}") int serverMaxConnections,
+                                   @Value("${musicstore.db.instances:1}") int instances) {
+        this.dataSource = dataSource;
+        this.serverMaxConnections = serverMaxConnections;
+        this.instances = instances;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled=true не действует на Java {}: нужна Java 21 (сборка с -Pjava21)",
+                    Runtime.version().feature());
+            return;
+        }
+        HikariDataSource hikari = hikari(dataSource);
+        if (hikari == null) {
+            log.warn("Пул соединений не Hikari ({}), проверка размера пропущена", dataSource.getClass().getName());
+            return;
+        }
+
+        int poolSize = hikari.getMaximumPoolSize();
+        if ((long) poolSize * instances > serverMaxConnections) {
+            throw new IllegalStateException(String.format(
+                    "Пул соединений слишком большой: %d x %d экземпляров > max_connections=%d. " +
+                            "Уменьшите spring.datasource.hikari.maximum-pool-size",
+                    poolSize, instances, serverMaxConnections));
+        }
+        if (hikari.getConnectionTimeout() > MAX_CONNECTION_TIMEOUT_MS) {
+            log.warn("Ожидание соединения {} мс: при перегрузке виртуальные потоки будут долго ждать пул. " +
+                    "Рекомендуется spring.datasource.hikari.connection-timeout <= {}",
+                    hikari.getConnectionTimeout(), MAX_CONNECTION_TIMEOUT_MS);
+        }
+        log.info("Режим виртуальных потоков: пул соединений {} (таймаут {} мс), max_connections={}, экземпляров {}",
+                poolSize, hikari.getConnectionTimeout(), serverMaxConnections, instances);
+    }
+
+    // Пул Hikari за обертками DataSource (LazyConnectionDataSourceProxy основного DataSource) или null
+    static HikariDataSource hikari(DataSource dataSource) {
+        DataSource current = dataSource;
+        while (current instanceof DelegatingDataSource delegating) {
+            current = delegating.getTargetDataSource();
+        }
+        return current instanceof HikariDataSource hikari ? hikari : null;
+    }
+}
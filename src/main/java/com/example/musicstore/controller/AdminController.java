@@ -5,6 +5,7 @@ import com.example.musicstore.models.enums.OrderStatus;
 import com.example.musicstore.services.OrderService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,6 +20,7 @@ import java.util.stream.Collectors;
 
 //в этом классе отображается html форма admin-panel
 @Controller
+@Lazy
 @Transactional
 public class AdminController {
 
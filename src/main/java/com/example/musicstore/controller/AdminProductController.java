@@ -3,6 +3,7 @@ package com.example.musicstore.controller;
 import com.example.musicstore.models.Product;
 import com.example.musicstore.services.ProductService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -15,6 +16,7 @@ import java.security.Principal;
 import java.util.List;
 
 @Controller
+@Lazy
 @RequestMapping("/admin/products")
 @RequiredArgsConstructor
 public class AdminProductController {
@@ -59,6 +61,31 @@ public class AdminProductController {
         return "redirect:/admin/products";
     }
 
+    // Массовые операции над отмеченными товарами (постоянное число запросов к базе независимо от количества)
+    @PostMapping("/bulk-delete")
+    public String deleteProducts(@RequestParam(name = "ids", required = false) List<Long> ids,
+                                 RedirectAttributes redirectAttributes) throws IOException {
+        int deleted = productService.deleteProducts(ids != null ? ids : List.of());
+        redirectAttributes.addFlashAttribute("success", "Удалено товаров: " + deleted);
+        return "redirect:/admin/products";
+    }
+
+    @PostMapping("/bulk-cancel")
+    public String cancelBookings(@RequestParam(name = "ids", required = false) List<Long> ids,
+                                 RedirectAttributes redirectAttributes) {
+        int released = productService.cancelBookings(ids != null ? ids : List.of());
+        redirectAttributes.addFlashAttribute("success", "Снята бронь с товаров: " + released);
+        return "redirect:/admin/products";
+    }
+
+    @PostMapping("/bulk-sync")
+    public String syncStatuses(@RequestParam(name = "ids", required = false) List<Long> ids,
+                               RedirectAttributes redirectAttributes) {
+        int changed = productService.syncProductStatusesFromOrders(ids != null ? ids : List.of());
+        redirectAttributes.addFlashAttribute("success", "Статус по последнему заказу обновлен у товаров: " + changed);
+        return "redirect:/admin/products";
+    }
+
     // Админ также может бронировать и покупать
     @PostMapping("/{id}/book")
     public String bookProduct(@PathVariable Long id, Principal principal, RedirectAttributes redirectAttributes) {
@@ -0,0 +1,39 @@
+package com.example.musicstore.controller;
+
+import com.example.musicstore.configurations.SqlBudgetReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+//Этот класс `AdminSqlBudgetController` показывает администратору endpoint с наибольшим числом SQL-операторов за запрос:
+//
+//1. `GET /admin/sql-budget` - список худших обработчиков (JSON): число запросов, превышений бюджета,
+//   максимум операторов и времени SQL за запрос, requestId худшего запроса и самый повторяющийся оператор.
+//2. `DELETE /admin/sql-budget` - очистка сводки.
+//
+//Доступ только для ADMIN (правило /admin/** в SecurityConfig).
+@RestController
+@Lazy
+@RequestMapping("/admin/sql-budget")
+@RequiredArgsConstructor
+public class AdminSqlBudgetController {
+
+    private final SqlBudgetReport sqlBudgetReport;
+
+    @GetMapping
+    public List<SqlBudgetReport.Offender> worstOffenders() {
+        return sqlBudgetReport.worstOffenders();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        sqlBudgetReport.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
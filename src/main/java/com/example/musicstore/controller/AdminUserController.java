@@ -7,11 +7,14 @@ import com.example.musicstore.models.User;
 import com.example.musicstore.models.enums.Role;
 import com.example.musicstore.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import com.example.musicstore.services.CurrentUserResolver;
+import com.example.musicstore.services.UserDetailsCache;
 import com.example.musicstore.services.UserService;
 
 
@@ -22,12 +25,15 @@ import com.example.musicstore.services.UserService;
 
 
 @Controller
+@Lazy
 @RequestMapping("/admin/users")
 @RequiredArgsConstructor
 public class AdminUserController {
     private final UserService userService;//содержит бизнес-логику, может использовать UserRepository внутри себя.
     private final UserRepository userRepository;//отвечает за непосредственную работу с базой данных (CRUD-операции).
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserResolver currentUserResolver;//кеш текущего пользователя, сбрасывается после изменения ролей
+    private final UserDetailsCache userDetailsCache;//кеш пользователей для входа, сбрасывается после изменения ролей
 
 
 
@@ -79,6 +85,8 @@ public class AdminUserController {
 
             user.setRoles(newRoles);
             userRepository.save(user);
+            currentUserResolver.evict(user.getEmail());
+            userDetailsCache.removeUserFromCache(user.getEmail());
 
             redirectAttributes.addFlashAttribute("success", "Роли пользователя успешно обновлены");
         } catch (Exception e) {
@@ -1,8 +1,13 @@
 package com.example.musicstore.controller;
 
+import com.example.musicstore.configurations.StoreMetrics;
 import com.example.musicstore.models.Cart;
 import com.example.musicstore.models.CartItem;
+import com.example.musicstore.models.CartValidationResult;
 import com.example.musicstore.models.Product;
+import com.example.musicstore.services.CartValidationService;
+import com.example.musicstore.services.CartValidationService.CheckoutMode;
+import com.example.musicstore.services.InsufficientFundsException;
 import com.example.musicstore.services.ProductService;
 import com.example.musicstore.services.UserService;
 import jakarta.servlet.http.HttpSession;
@@ -10,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
 import java.security.Principal;
@@ -21,16 +27,24 @@ public class CartController {
 
     private final ProductService productService;
     private final UserService userService;
+    private final CartValidationService cartValidationService;
+    private final StoreMetrics storeMetrics;
 
     // Добавление в корзину
     @PostMapping("/add/{productId}")
     public String addToCart(@PathVariable Long productId,
                             HttpSession session,
-                            Principal principal) {
+                            Principal principal,
+                            RedirectAttributes redirectAttributes) {
         Cart cart = getOrCreateCart(session);
         Product product = productService.getProductById(productId);
 
-        cart.addItem(product);
+        try {
+            cart.addItem(product);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/cart";
+        }
         session.setAttribute("cart", cart);
 
         return "redirect:/catalog?added=true";
@@ -67,9 +81,14 @@ public class CartController {
     @PostMapping("/update/{productId}")
     public String updateQuantity(@PathVariable Long productId,
                                  @RequestParam int quantity,
-                                 HttpSession session) {
+                                 HttpSession session,
+                                 RedirectAttributes redirectAttributes) {
         Cart cart = getOrCreateCart(session);
-        cart.updateQuantity(productId, quantity);
+        try {
+            cart.updateQuantity(productId, quantity);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
         session.setAttribute("cart", cart);
 
         return "redirect:/cart";
@@ -87,29 +106,25 @@ public class CartController {
         Cart cart = getOrCreateCart(session);
         String email = principal.getName();
 
-        // Проверяем достаточно ли средств
-        BigDecimal balance = userService.getBalance(email);
-        if (balance.compareTo(cart.getTotalAmount()) < 0) {
-            model.addAttribute("error", "Недостаточно средств на счете");
-            model.addAttribute("cart", cart);
-            model.addAttribute("userBalance", balance);
-            return "cart";
+        // Перепроверяем цены и доступность всех товаров одним запросом
+        CartValidationResult validation = cartValidationService.revalidate(cart, email, CheckoutMode.BUY);
+        if (!validation.isValid()) {
+            storeMetrics.checkout(StoreMetrics.CART, StoreMetrics.INVALID_CART);
+            return showValidationProblems(model, session, cart, validation, userService.getBalance(email));
         }
 
-        // Покупаем каждый товар в корзине
-        for (CartItem item : cart.getItems().values()) {
-            try {
-                productService.purchaseProduct(item.getProductId(), email);
-            } catch (Exception e) {
-                model.addAttribute("error", "Ошибка при покупке товара: " + e.getMessage());
-                model.addAttribute("cart", cart);
-                model.addAttribute("userBalance", balance);
-                return "cart";
-            }
+        // Покупаем все товары корзины и списываем оплату в одной транзакции (заказы вставляются пакетом);
+        // баланс проверяется там же, при ошибке или нехватке средств не куплен ни один товар
+        try {
+            productService.purchaseProducts(cart.getItems().values().stream().map(CartItem::getProductId).toList(), email);
+        } catch (InsufficientFundsException e) {
+            storeMetrics.checkout(StoreMetrics.CART, StoreMetrics.INSUFFICIENT_FUNDS);
+            return cartError(model, cart, email, e.getMessage());
+        } catch (Exception e) {
+            storeMetrics.checkout(StoreMetrics.CART, StoreMetrics.FAILED);
+            return cartError(model, cart, email, "Ошибка при покупке товара: " + e.getMessage());
         }
-
-        // Списание средств
-        userService.deductBalance(email, cart.getTotalAmount());
+        storeMetrics.checkout(StoreMetrics.CART, StoreMetrics.SUCCESS);
 
         // Очищаем корзину
         cart.clear();
@@ -130,11 +145,19 @@ public class CartController {
         Cart cart = getOrCreateCart(session);
         String email = principal.getName();
 
+        // Перепроверяем цены и доступность всех товаров одним запросом
+        CartValidationResult validation = cartValidationService.revalidate(cart, email, CheckoutMode.RESERVE);
+        if (!validation.isValid()) {
+            storeMetrics.booking(StoreMetrics.CART, StoreMetrics.INVALID_CART);
+            return showValidationProblems(model, session, cart, validation, userService.getBalance(email));
+        }
+
         // Бронируем каждый товар в корзине
         for (CartItem item : cart.getItems().values()) {
             try {
                 productService.bookProduct(item.getProductId(), email);
             } catch (Exception e) {
+                storeMetrics.booking(StoreMetrics.CART, StoreMetrics.FAILED);
                 model.addAttribute("error", "Ошибка при бронировании товара: " + e.getMessage());
                 model.addAttribute("cart", cart);
                 model.addAttribute("userBalance", userService.getBalance(email));
@@ -142,6 +165,8 @@ public class CartController {
             }
         }
 
+        storeMetrics.booking(StoreMetrics.CART, StoreMetrics.SUCCESS);
+
         // Очищаем корзину
         cart.clear();
         session.setAttribute("cart", cart);
@@ -149,6 +174,30 @@ public class CartController {
         return "redirect:/cart?success=reserve";
     }
 
+    // Корзина с сообщением об ошибке оформления
+    private String cartError(Model model, Cart cart, String email, String error) {
+        model.addAttribute("error", error);
+        model.addAttribute("cart", cart);
+        model.addAttribute("userBalance", userService.getBalance(email));
+        return "cart";
+    }
+
+    // Возврат на страницу корзины со списком изменившихся и недоступных товаров
+    private String showValidationProblems(Model model,
+                                          HttpSession session,
+                                          Cart cart,
+                                          CartValidationResult validation,
+                                          BigDecimal balance) {
+        // Цены в корзине уже обновлены - сохраняем корзину в сессии
+        session.setAttribute("cart", cart);
+        model.addAttribute("error", "Корзина изменилась с момента добавления товаров. Проверьте заказ и повторите оформление");
+        model.addAttribute("priceChanges", validation.getPriceChanges());
+        model.addAttribute("unavailableItems", validation.getUnavailableItems());
+        model.addAttribute("cart", cart);
+        model.addAttribute("userBalance", balance);
+        return "cart";
+    }
+
     private Cart getOrCreateCart(HttpSession session) {
         Cart cart = (Cart) session.getAttribute("cart");
         if (cart == null) {
@@ -2,6 +2,7 @@ package com.example.musicstore.controller;
 
 import com.example.musicstore.services.ReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 //Статистика передается в шаблонизатор (Thymeleaf или FreeMarker).
 //Пользователь видит красивый дашборд с цифрами, графиками или другой сводной информацией.
 @Controller
+@Lazy
 @RequiredArgsConstructor
 public class DashboardController {
 
@@ -1,8 +1,12 @@
 package com.example.musicstore.controller;
+import com.example.musicstore.configurations.StoreMetrics;
 import com.example.musicstore.models.Product;
+import com.example.musicstore.services.InsufficientFundsException;
+import com.example.musicstore.services.ProductCardCache;
 import com.example.musicstore.services.ProductService;
 import com.example.musicstore.services.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -19,13 +23,18 @@ public class DopCatalogController {
 
     private final ProductService productService;
     private final UserService userService;
+    private final StoreMetrics storeMetrics;
+    private final ProductCardCache productCardCache;
 
     @GetMapping
     public String catalog(Model model,
                           Principal principal,
+                          CsrfToken csrfToken,
                           @RequestParam(required = false) Boolean added) {
         List<Product> products = productService.getAllProducts();
         model.addAttribute("products", products);
+        // Готовый HTML карточек: шаблон страницы только вставляет их
+        model.addAttribute("productCards", productCardCache.cards(products, csrfToken));
 
         if (principal != null) {
             BigDecimal balance = userService.getBalance(principal.getName());
@@ -49,23 +58,17 @@ public class DopCatalogController {
         }
 
         try {
-            Product product = productService.getProductById(productId);
-            BigDecimal price = BigDecimal.valueOf(product.getPrice());
-            String email = principal.getName();
-
-            // Проверяем баланс
-            BigDecimal balance = userService.getBalance(email);
-            if (balance.compareTo(price) < 0) {
-                redirectAttributes.addFlashAttribute("error", "Недостаточно средств");
-                return "redirect:/catalog";
-            }
-
-            // Покупаем и списываем средства
-            productService.purchaseProduct(productId, email);
-            userService.deductBalance(email, price);
+            // Покупка и списание в одной транзакции, как корзина из одного товара: баланс проверяется
+            // условным UPDATE в базе, а не по закешированному пользователю
+            productService.purchaseProducts(List.of(productId), principal.getName());
+            storeMetrics.checkout(StoreMetrics.QUICK, StoreMetrics.SUCCESS);
 
             redirectAttributes.addFlashAttribute("success", "Товар успешно куплен!");
+        } catch (InsufficientFundsException e) {
+            storeMetrics.checkout(StoreMetrics.QUICK, StoreMetrics.INSUFFICIENT_FUNDS);
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         } catch (Exception e) {
+            storeMetrics.checkout(StoreMetrics.QUICK, StoreMetrics.FAILED);
             redirectAttributes.addFlashAttribute("error", "Ошибка: " + e.getMessage());
         }
 
@@ -83,8 +86,10 @@ public class DopCatalogController {
 
         try {
             productService.bookProduct(productId, principal.getName());
+            storeMetrics.booking(StoreMetrics.QUICK, StoreMetrics.SUCCESS);
             redirectAttributes.addFlashAttribute("success", "Товар забронирован!");
         } catch (Exception e) {
+            storeMetrics.booking(StoreMetrics.QUICK, StoreMetrics.FAILED);
             redirectAttributes.addFlashAttribute("error", "Ошибка: " + e.getMessage());
         }
 
@@ -3,14 +3,13 @@ package com.example.musicstore.controller;
 import com.example.musicstore.models.Order;
 import com.example.musicstore.models.Product;
 import com.example.musicstore.models.User;
+import com.example.musicstore.services.CurrentUserResolver;
 import com.example.musicstore.services.OrderService;
 import com.example.musicstore.services.ProductService;
-import com.example.musicstore.services.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -31,7 +30,7 @@ import java.util.List;
 public class MainController {
 
     private final ProductService productService;
-    private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
     private final OrderService orderService;
 
 
@@ -56,8 +55,7 @@ public class MainController {
             // Заказы пользователя (если авторизован)
             if (authentication != null && authentication.isAuthenticated()) {
                 String email = authentication.getName();
-                User user = userService.findByEmail(email)
-                        .orElseThrow(() -> new UsernameNotFoundException("Пользователь не найден"));
+                User user = currentUserResolver.resolve(email);
 
                 // Получаем все заказы пользователя
                 List<Order> userOrders = orderService.getUserOrders(user.getId());
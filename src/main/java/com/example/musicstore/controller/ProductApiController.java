@@ -0,0 +1,53 @@
+package com.example.musicstore.controller;
+
+import com.example.musicstore.models.ProductDto;
+import com.example.musicstore.services.ProductApiService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+//Этот класс `ProductApiController` предоставляет публичный JSON API каталога только для чтения:
+//
+//1. `GET /api/products` - весь каталог потоком NDJSON (одна строка JSON на товар).
+//2. `GET /api/products/search?q=...` - поиск по названию, тоже потоком NDJSON.
+//3. `GET /api/products/{id}` - один товар в формате JSON (404 если товара нет).
+//
+//Потоки отдаются по мере чтения клиентом: следующая страница загружается из базы,
+//только когда предыдущая отправлена (Spring MVC запрашивает у Flux по одному элементу).
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class ProductApiController {
+
+    private final ProductApiService productApiService;
+
+    // весь каталог потоком NDJSON
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDto> streamProducts() {
+        return productApiService.streamAll();
+    }
+
+    // поиск по названию потоком NDJSON
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDto> searchProducts(@RequestParam("q") String query) {
+        if (query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Строка поиска не указана");
+        }
+        return productApiService.search(query);
+    }
+
+    // один товар
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ProductDto> getProduct(@PathVariable Long id) {
+        return productApiService.findById(id)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Товар не найден: " + id)));
+    }
+}
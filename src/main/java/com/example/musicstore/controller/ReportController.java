@@ -4,6 +4,7 @@ import com.example.musicstore.models.ReportData;
 import com.example.musicstore.services.ExportService;
 import com.example.musicstore.services.ReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.stereotype.Controller;
@@ -21,6 +22,7 @@ import java.util.List;
 //4. Позволяет экспортировать отчеты в файлы разных форматов (Excel, PDF) через REST-эндпоинт (`exportReport`), возвращая файлы пользователю для скачивания.
 //5. Внутренний метод `validateDates` проверяет правильность диапазона дат.
 @Controller
+@Lazy
 @RequestMapping("/api/reports")
 @RequiredArgsConstructor
 public class ReportController {
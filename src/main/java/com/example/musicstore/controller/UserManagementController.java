@@ -4,6 +4,7 @@ import com.example.musicstore.models.User;
 import com.example.musicstore.services.UserManagementService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +19,7 @@ import java.util.List;
 // Он предоставляет функционал для просмотра и изменения активности пользователей.
 @Slf4j
 @Controller
+@Lazy
 @RequestMapping("/admin/user-management")
 @RequiredArgsConstructor
 public class UserManagementController {
@@ -0,0 +1,16 @@
+// Пакет, в котором находятся события приложения
+package com.example.musicstore.events;
+
+// Импорт класса для работы с датой
+import java.time.LocalDate;
+
+/**
+ * Событие изменения набора завершенных заказов: заказ стал завершенным,
+ * перестал быть завершенным или был удален.
+ * Отчеты строятся только по завершенным заказам, поэтому по этому событию
+ * сбрасываются закешированные отчеты, в период которых попадает дата заказа.
+ *
+ * @param orderDay дата заказа (null - дата неизвестна, сбрасываются все отчеты)
+ */
+public record CompletedOrderChangedEvent(LocalDate orderDay) {
+}
@@ -2,7 +2,6 @@ package com.example.musicstore.models;
 
 import lombok.Data;
 
-import java.math.BigDecimal;
 
 /**
  * Класс AuthorStats представляет статистические данные по конкретному автору/исполнителю.
@@ -26,9 +25,9 @@ public class AuthorStats {
 
     /**
      * Общая выручка от продажи товаров данного автора
-     * Тип BigDecimal используется для точных денежных расчетов без ошибок округления
+     * Тип Money (копейки в long) используется для точных денежных расчетов без ошибок округления
      */
-    private BigDecimal totalRevenue;
+    private Money totalRevenue;
 
     /**
      * Доля рынка автора в процентах от общей выручки магазина
@@ -46,7 +45,7 @@ public class AuthorStats {
 //
 //Комплексные метрики - сочетает абсолютные (salesCount, totalRevenue) и относительные (marketShare) показатели
 //
-//Финансовая точность - использование BigDecimal для денежных расчетов
+//Финансовая точность - использование Money для денежных расчетов
 //
 //Сравнительный анализ - marketShare позволяет оценить значимость автора относительно других
 //
@@ -68,6 +67,6 @@ public class AuthorStats {
 //
 //Сравнимость - marketShare позволяет сравнивать авторов между собой
 //
-//Точность - BigDecimal обеспечивает корректные финансовые расчеты
+//Точность - Money обеспечивает корректные финансовые расчеты
 //
 //Гибкость - может использоваться как самостоятельно, так и в составе AuthorsReport
\ No newline at end of file
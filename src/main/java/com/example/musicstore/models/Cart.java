@@ -1,51 +1,57 @@
 // Пакет, в котором находится класс
 package com.example.musicstore.models;
 
-// Импорт аннотации @Data из проекта Lombok
-import lombok.Data;
-// Импорт класса BigDecimal для точных денежных расчетов
-import java.math.BigDecimal;
-// Импорт класса HashMap для реализации хеш-таблицы
-import java.util.HashMap;
+// Импорт аннотации @Getter из проекта Lombok
+import lombok.Getter;
+// Импорт класса Collections для неизменяемого представления коллекции
+import java.util.Collections;
+// Импорт класса LinkedHashMap для хранения товаров в порядке добавления
+import java.util.LinkedHashMap;
 // Импорт интерфейса Map для работы с коллекцией ключ-значение
 import java.util.Map;
 
 /**
  * Класс Cart представляет корзину покупок.
- * Управляет добавлением, удалением и изменением товаров в корзине,
- * а также рассчитывает общую стоимость.
+ * Управляет добавлением, удалением и изменением товаров в корзине.
+ * Итоговая сумма (в копейках) и количество товаров поддерживаются инкрементально
+ * при каждом изменении, поэтому getTotalAmount() и getTotalItems() работают за O(1)
+ * независимо от размера корзины.
  */
-@Data // Аннотация Lombok, которая автоматически генерирует:
-// - геттеры и сеттеры для всех полей
-// - методы toString(), equals() и hashCode()
-// - конструктор без аргументов
+@Getter // Аннотация Lombok - генерирует только геттеры: итоги нельзя менять в обход методов корзины
 public class Cart {
 
+    // Максимальное количество одного товара в корзине (совпадает с ограничением формы в cart.html)
+    public static final int MAX_QUANTITY = 10;
+
     // Коллекция товаров в корзине, где ключ - ID товара, значение - объект CartItem
-    private Map<Long, CartItem> items = new HashMap<>();
+    private final Map<Long, CartItem> items = new LinkedHashMap<>();
+
+    // Общая сумма всех товаров в корзине в копейках
+    private long totalCents;
 
-    // Общая сумма всех товаров в корзине, инициализирована нулем
-    private BigDecimal totalAmount = BigDecimal.ZERO;
+    // Общее количество единиц товаров в корзине
+    private int totalItems;
 
     /**
      * Добавляет товар в корзину или увеличивает его количество, если уже присутствует
      * @param product - товар для добавления
+     * @throws IllegalArgumentException если количество превысит MAX_QUANTITY
      */
     public void addItem(Product product) {
         // Получаем товар из корзины по ID
         CartItem item = items.get(product.getId());
         // Если товара нет в корзине
         if (item == null) {
-            // Создаем новый элемент корзины
+            // Создаем новый элемент корзины и добавляем в коллекцию
             item = new CartItem(product);
-            // Добавляем в коллекцию
             items.put(product.getId(), item);
+            // Учитываем новую позицию в итогах
+            totalCents = Math.addExact(totalCents, item.getLineTotalCents());
+            totalItems += item.getQuantity();
         } else {
             // Увеличиваем количество существующего товара на 1
-            item.setQuantity(item.getQuantity() + 1);
+            changeQuantity(item, item.getQuantity() + 1);
         }
-        // Пересчитываем общую сумму
-        calculateTotal();
     }
 
     /**
@@ -54,25 +60,44 @@ public class Cart {
      */
     public void removeItem(Long productId) {
         // Удаляем товар из коллекции
-        items.remove(productId);
-        // Пересчитываем общую сумму
-        calculateTotal();
+        CartItem item = items.remove(productId);
+        // Вычитаем вклад удаленной позиции из итогов
+        if (item != null) {
+            totalCents -= item.getLineTotalCents();
+            totalItems -= item.getQuantity();
+        }
     }
 
     /**
      * Обновляет количество конкретного товара в корзине
      * @param productId - ID товара
-     * @param quantity - новое количество
+     * @param quantity - новое количество (от 1 до MAX_QUANTITY)
+     * @throws IllegalArgumentException если количество вне допустимого диапазона
      */
     public void updateQuantity(Long productId, int quantity) {
         // Получаем товар из корзины
         CartItem item = items.get(productId);
         // Если товар найден
         if (item != null) {
-            // Устанавливаем новое количество
-            item.setQuantity(quantity);
-            // Пересчитываем общую сумму
-            calculateTotal();
+            changeQuantity(item, quantity);
+        }
+    }
+
+    /**
+     * Обновляет цену товара в корзине (после перепроверки цен перед оформлением)
+     * @param productId - ID товара
+     * @param unitPriceCents - новая цена за единицу в копейках
+     */
+    public void updateUnitPrice(Long productId, long unitPriceCents) {
+        CartItem item = items.get(productId);
+        if (item != null) {
+            if (unitPriceCents < 0) {
+                throw new IllegalArgumentException("Цена не может быть отрицательной");
+            }
+            // Заменяем вклад позиции: вычитаем старую стоимость, прибавляем новую
+            long before = item.getLineTotalCents();
+            item.setUnitPriceCents(unitPriceCents);
+            totalCents = Math.addExact(totalCents - before, item.getLineTotalCents());
         }
     }
 
@@ -82,32 +107,50 @@ public class Cart {
     public void clear() {
         // Очищаем коллекцию товаров
         items.clear();
-        // Сбрасываем общую сумму к нулю
-        totalAmount = BigDecimal.ZERO;
+        // Сбрасываем итоги к нулю
+        totalCents = 0;
+        totalItems = 0;
+    }
+
+    /**
+     * Возвращает товары корзины только для чтения
+     * @return неизменяемое представление коллекции товаров
+     */
+    public Map<Long, CartItem> getItems() {
+        return Collections.unmodifiableMap(items);
     }
 
     /**
-     * Приватный метод для расчета общей суммы корзины
+     * Возвращает общую сумму корзины
+     * @return сумма в рублях с двумя знаками после запятой
      */
-    private void calculateTotal() {
-        // Используем Stream API для расчета:
-        totalAmount = items.values().stream() // Получаем поток значений из коллекции
-                // Для каждого элемента вычисляем: цена * количество
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                // Суммируем все значения, начиная с нуля
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Money getTotalAmount() {
+        return Money.ofMinor(totalCents);
     }
 
     /**
-     * Возвращает общее количество товаров в корзине
-     * @return сумма количеств всех товаров
+     * Изменение количества позиции с проверкой диапазона и корректировкой итогов
+     * @param item - позиция корзины
+     * @param quantity - новое количество
      */
-    public int getTotalItems() {
-        return items.values().stream() // Получаем поток значений из коллекции
-                // Преобразуем каждый элемент в его количество
-                .mapToInt(CartItem::getQuantity)
-                // Суммируем все количества
-                .sum();
+    private void changeQuantity(CartItem item, int quantity) {
+        // Проверяем допустимость количества
+        validateQuantity(quantity);
+        // Корректируем итоги на разницу между новым и старым значением
+        long before = item.getLineTotalCents();
+        totalItems += quantity - item.getQuantity();
+        item.setQuantity(quantity);
+        totalCents = Math.addExact(totalCents - before, item.getLineTotalCents());
+    }
+
+    /**
+     * Проверка количества товара
+     * @param quantity - количество
+     */
+    private static void validateQuantity(int quantity) {
+        if (quantity < 1 || quantity > MAX_QUANTITY) {
+            throw new IllegalArgumentException("Количество должно быть от 1 до " + MAX_QUANTITY);
+        }
     }
 }
 //Что делает класс Cart:
@@ -120,21 +163,21 @@ public class Cart {
 //
 //Удаление товаров из корзины
 //
-//Изменение количества товаров
+//Изменение количества товаров (с проверкой диапазона 1..MAX_QUANTITY)
 //
 //Очистка корзины
 //
 //Расчетные функции:
 //
-//Автоматический пересчет общей суммы при любых изменениях
+//Инкрементальный пересчет общей суммы и количества при каждом изменении
 //
-//Подсчет общего количества товаров
+//Сумма хранится в копейках (long) и отдается как Money без создания BigDecimal
 //
-//Точные денежные расчеты с использованием BigDecimal
+//Итоги доступны за константное время независимо от количества позиций
 //
 //Структура данных:
 //
-//Использует HashMap для эффективного хранения и поиска товаров
+//Использует LinkedHashMap для эффективного хранения и поиска товаров с сохранением порядка добавления
 //
 //Каждый товар представлен объектом CartItem
 //
@@ -146,4 +189,4 @@ public class Cart {
 //
 //Расчетов предварительной стоимости заказа
 //
-//Взаимодействия с пользовательским интерфейсом корзины
\ No newline at end of file
+//Взаимодействия с пользовательским интерфейсом корзины
@@ -1,7 +1,8 @@
 package com.example.musicstore.models;
 
+import lombok.AccessLevel;
 import lombok.Data;
-import java.math.BigDecimal;
+import lombok.Setter;
 
 /**
  * Класс CartItem представляет элемент корзины покупок.
@@ -30,15 +31,19 @@ public class CartItem {
     private String imagePath;
 
     /**
-     * Цена товара за единицу
-     * Тип BigDecimal используется для точных денежных расчетов без ошибок округления
+     * Цена товара за единицу в копейках
+     * Хранится как long, чтобы корзина могла пересчитывать итоги без создания BigDecimal.
+     * Изменяется только через Cart, иначе итоги корзины разойдутся с позициями
      */
-    private BigDecimal price;
+    @Setter(AccessLevel.PACKAGE)
+    private long unitPriceCents;
 
     /**
      * Количество данного товара в корзине
-     * По умолчанию устанавливается в 1 при создании элемента корзины
+     * По умолчанию устанавливается в 1 при создании элемента корзины.
+     * Изменяется только через Cart, иначе итоги корзины разойдутся с позициями
      */
+    @Setter(AccessLevel.PACKAGE)
     private int quantity;
 
     /**
@@ -55,10 +60,27 @@ public class CartItem {
         this.productId = product.getId(); // Установка ID товара
         this.productName = product.getName(); // Установка названия товара
         this.imagePath = product.getImagePath(); // Установка пути к изображению
-        this.price = BigDecimal.valueOf(product.getPrice()); // Конвертация цены в BigDecimal
+        this.unitPriceCents = product.getPrice().getMinorUnits(); // Цена в копейках
         this.quantity = 1; // Установка начального количества (1 единица)
         this.status = product.getStatus(); // Установка статуса товара
     }
+
+    /**
+     * Цена за единицу для отображения в шаблонах
+     * @return цена в рублях с двумя знаками после запятой
+     */
+    public Money getPrice() {
+        return Money.ofMinor(unitPriceCents);
+    }
+
+    /**
+     * Стоимость позиции (цена * количество) в копейках
+     * @return стоимость позиции
+     * @throws ArithmeticException при переполнении
+     */
+    public long getLineTotalCents() {
+        return Math.multiplyExact(unitPriceCents, (long) quantity);
+    }
 }
 
 //Полное описание класса:
@@ -74,6 +96,10 @@ public class CartItem {
 //
 //Автоматическое начальное количество - при создании устанавливается quantity = 1
 //
+//Цена хранится в копейках (long) - корзина пересчитывает итоги без BigDecimal
+//
+//Количество и цена меняются только через Cart, который поддерживает итоги инкрементально
+//
 //Контроль статуса товара - позволяет проверять доступность товара при оформлении заказа
 //
 //Типичное использование:
@@ -102,4 +128,4 @@ public class CartItem {
 //
 //При изменении данных оригинального Product необходимо обновлять соответствующие CartItem
 //
-//Статус товара проверяется при оформлении заказа для предотвращения заказа недоступных товаров
\ No newline at end of file
+//Статус товара проверяется при оформлении заказа для предотвращения заказа недоступных товаров
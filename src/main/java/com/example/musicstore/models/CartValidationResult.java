@@ -0,0 +1,60 @@
+package com.example.musicstore.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс CartValidationResult представляет результат перепроверки корзины перед оформлением.
+ * Содержит список товаров, у которых изменилась цена, и список товаров,
+ * которые больше нельзя купить или забронировать.
+ */
+@Data // Аннотация Lombok, которая автоматически генерирует геттеры, сеттеры, toString, equals и hashCode
+public class CartValidationResult {
+
+    // Товары, цена которых изменилась с момента добавления в корзину (цена в корзине уже обновлена)
+    private List<PriceChange> priceChanges = new ArrayList<>();
+
+    // Товары, недоступные для покупки или бронирования
+    private List<UnavailableItem> unavailableItems = new ArrayList<>();
+
+    /**
+     * Проверка, можно ли продолжать оформление без подтверждения пользователя
+     * @return true если цены не менялись и все товары доступны
+     */
+    public boolean isValid() {
+        return priceChanges.isEmpty() && unavailableItems.isEmpty();
+    }
+
+    /**
+     * Изменение цены товара
+     */
+    @Data
+    @AllArgsConstructor
+    public static class PriceChange {
+        // ID товара
+        private Long productId;
+        // Название товара
+        private String productName;
+        // Цена на момент добавления в корзину
+        private Money oldPrice;
+        // Текущая цена товара
+        private Money newPrice;
+    }
+
+    /**
+     * Недоступный товар с причиной
+     */
+    @Data
+    @AllArgsConstructor
+    public static class UnavailableItem {
+        // ID товара
+        private Long productId;
+        // Название товара
+        private String productName;
+        // Причина недоступности
+        private String reason;
+    }
+}
@@ -3,8 +3,6 @@ package com.example.musicstore.models;
 
 // Импорт аннотации @Data из проекта Lombok
 import lombok.Data;
-// Импорт класса BigDecimal для работы с денежными суммами
-import java.math.BigDecimal;
 
 /**
  * Класс DashboardStats представляет статистические данные для панели управления.
@@ -37,8 +35,8 @@ public class DashboardStats {
     // Количество завершенных заказов
     private Long completedOrders;
 
-    // Общая выручка магазина (используется BigDecimal для точных денежных расчетов)
-    private BigDecimal totalRevenue;
+    // Общая выручка магазина (используется Money для точных денежных расчетов)
+    private Money totalRevenue;
 
     // Общее количество продаж (может отличаться от количества заказов)
     private Long totalSales;
@@ -0,0 +1,24 @@
+// Пакет, в котором находится класс
+package com.example.musicstore.models;
+
+// Импорт перечисления статусов заказа
+import com.example.musicstore.models.enums.OrderStatus;
+// Импорт аннотаций Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Класс LatestOrderStatus представляет статус последнего заказа товара.
+ * Заполняется конструктором прямо в JPQL-запросе OrderRepository.findLatestStatuses
+ * для синхронизации статусов сразу многих товаров без загрузки их заказов.
+ */
+@Data // Аннотация Lombok, которая автоматически генерирует геттеры, сеттеры, toString, equals и hashCode
+@AllArgsConstructor // Конструктор со всеми полями (используется в SELECT new ...)
+public class LatestOrderStatus {
+
+    // Идентификатор товара
+    private Long productId;
+
+    // Статус последнего (по дате, затем по id) заказа товара
+    private OrderStatus status;
+}
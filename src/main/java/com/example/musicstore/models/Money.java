@@ -0,0 +1,191 @@
+package com.example.musicstore.models;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Класс Money представляет денежную сумму в рублях, хранимую как long в копейках (минимальных единицах).
+ * Арифметика выполняется над long без создания BigDecimal и без ошибок округления double;
+ * BigDecimal создается только на границах (база данных, JSON, отображение).
+ *
+ * Класс наследует Number, поэтому шаблоны Thymeleaf (#numbers.formatDecimal) и Excel-экспорт
+ * работают с ним так же, как раньше с Double/BigDecimal.
+ */
+public final class Money extends Number implements Comparable<Money> {
+
+    // Количество знаков после запятой (копейки)
+    public static final int SCALE = 2;
+
+    // Нулевая сумма
+    public static final Money ZERO = new Money(0);
+
+    // Сумма в копейках
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * Создание суммы из копеек
+     * @param minorUnits сумма в копейках
+     * @return денежная сумма
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Создание суммы из BigDecimal с округлением до копейки (HALF_UP)
+     * @param amount сумма в рублях
+     * @return денежная сумма или null, если amount равен null
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Разбор суммы из строки (например "199.99" или "199,99")
+     * @param text строковое представление суммы в рублях
+     * @return денежная сумма
+     * @throws IllegalArgumentException если строка не является числом
+     */
+    public static Money parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Сумма не указана");
+        }
+        try {
+            return of(new BigDecimal(text.trim().replace(',', '.')));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Некорректная сумма: " + text, e);
+        }
+    }
+
+    /**
+     * @return сумма в копейках
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Сложение сумм
+     * @param other слагаемое
+     * @return сумма
+     * @throws ArithmeticException при переполнении
+     */
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Вычитание сумм
+     * @param other вычитаемое
+     * @return разность
+     * @throws ArithmeticException при переполнении
+     */
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Умножение на количество
+     * @param quantity количество
+     * @return произведение
+     * @throws ArithmeticException при переполнении
+     */
+    public Money times(long quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    /**
+     * Деление на количество с округлением до копейки (HALF_UP), например для среднего чека
+     * @param divisor делитель (больше нуля)
+     * @return частное
+     */
+    public Money dividedBy(long divisor) {
+        return ofMinor(divideHalfUp(minorUnits, divisor));
+    }
+
+    /**
+     * Деление long с округлением HALF_UP (как BigDecimal.divide(..., RoundingMode.HALF_UP))
+     * @param dividend делимое
+     * @param divisor делитель (больше нуля)
+     * @return округленное частное
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        if (divisor <= 0) {
+            throw new ArithmeticException("Делитель должен быть положительным: " + divisor);
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * @return true если сумма отрицательная
+     */
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    /**
+     * Преобразование в BigDecimal (для базы данных, JSON и баланса пользователя)
+     * @return сумма в рублях с двумя знаками после запятой
+     */
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        return minorUnits / 100;
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return minorUnits / 100.0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && minorUnits == other.minorUnits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * @return сумма в виде "1234.50"
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -8,8 +8,6 @@ import jakarta.persistence.*;
 // Импорт аннотаций Lombok для автоматической генерации геттеров, сеттеров и т.д.
 import lombok.Data;
 
-// Импорт класса для работы с большими десятичными числами (для денежных сумм)
-import java.math.BigDecimal;
 // Импорт класса для работы с датой и временем
 import java.time.LocalDateTime;
 
@@ -23,8 +21,12 @@ public class Order {
 
     // Аннотация указывает, что это поле является первичным ключом
     @Id
-    // Аннотация определяет стратегию генерации идентификатора (автоинкремент в базе данных)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Идентификаторы выдаются пачками по 50 из таблицы id_generators (оптимизатор pooled): для новых заказов
+    // не нужен отдельный INSERT ради id, поэтому Hibernate отправляет их пакетом (hibernate.jdbc.batch_size).
+    // С IDENTITY пакетная вставка невозможна: id известен только после выполнения каждого INSERT
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_ids")
+    @TableGenerator(name = "orders_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = 50)
     private Long id;
 
     // Связь с продуктом (много заказов - один продукт)
@@ -45,10 +47,10 @@ public class Order {
     // Значение по умолчанию - 1
     private Integer quantity = 1;
 
-    // Общая сумма заказа
+    // Общая сумма заказа (хранится в копейках, в базе - DECIMAL через MoneyConverter)
     // Аннотация определяет имя столбца в таблице
-    @Column(name = "total_amount")
-    private BigDecimal totalAmount;
+    @Column(name = "total_amount", precision = 12, scale = 2)
+    private Money totalAmount;
 
     // Статус заказа
     // Аннотация указывает, что enum должен сохраняться как строка (а не порядковый номер)
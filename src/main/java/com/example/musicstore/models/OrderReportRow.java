@@ -0,0 +1,40 @@
+// Пакет, в котором находится класс
+package com.example.musicstore.models;
+
+// Импорт аннотаций Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Импорт класса для работы с датой и временем
+import java.time.LocalDateTime;
+
+/**
+ * Класс OrderReportRow представляет проекцию заказа для построения отчетов.
+ * Содержит только поля, нужные для агрегации (дата, сумма, количество, автор товара),
+ * и заполняется конструктором прямо в JPQL-запросе без загрузки сущностей Order, Product и User.
+ */
+@Data // Аннотация Lombok, которая автоматически генерирует геттеры, сеттеры, toString, equals и hashCode
+@AllArgsConstructor // Конструктор со всеми полями (используется в SELECT new ...)
+public class OrderReportRow {
+
+    // Дата и время заказа
+    private LocalDateTime orderDate;
+
+    // Сумма заказа
+    private Money totalAmount;
+
+    // Количество товара в заказе (может быть null у старых заказов)
+    private Integer quantity;
+
+    // Автор товара (null, если товар удален)
+    private String author;
+}
+//Что делает класс OrderReportRow:
+//
+//Это легковесная проекция заказа, которую возвращает OrderRepository.findReportRows.
+//
+//В отличие от сущности Order, для нее не загружаются связанные Product и User (у Order они EAGER),
+//поэтому отчет за большой период выполняется одним запросом без дополнительных обращений к базе.
+//
+//Используется в ReportAggregator, который за один проход считает выручку по дням, продажи по дням
+//и статистику по авторам.
@@ -9,6 +9,9 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+// Импорт аннотаций Hibernate для кеша второго уровня
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 // Импорт класса для работы с датой и временем
 import java.time.LocalDateTime;
@@ -20,6 +23,8 @@ import java.util.List;
 @Entity
 // Аннотация задает имя таблицы в базе данных
 @Table(name = "products")
+// Кеш второго уровня (регион в ehcache.xml): товар по id читается из кеша, изменения статуса сбрасывают запись
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 // Аннотация Lombok - автоматически генерирует геттеры, сеттеры, toString, equals и hashCode
 @Data
 // Аннотация Lombok - генерирует конструктор без аргументов
@@ -44,10 +49,10 @@ public class Product {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    // Цена товара
+    // Цена товара (хранится в копейках, в базе - DECIMAL через MoneyConverter)
     // Аннотация указывает, что поле не может быть null в базе данных
-    @Column(nullable = false)
-    private Double price;
+    @Column(nullable = false, precision = 12, scale = 2)
+    private Money price;
 
     // Автор/продавец товара (email пользователя)
     // Аннотация указывает, что поле не может быть null в базе данных
@@ -0,0 +1,47 @@
+// Пакет, в котором находится класс
+package com.example.musicstore.models;
+
+// Импорт аннотаций Lombok
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Класс ProductDto представляет товар в JSON API каталога (/api/products).
+ * Содержит только публичные поля товара, без связанных пользователей (bookedBy, buyer) и заказов,
+ * и заполняется конструктором прямо в JPQL-запросе без загрузки сущности Product.
+ */
+@Data // Аннотация Lombok, которая автоматически генерирует геттеры, сеттеры, toString, equals и hashCode
+@NoArgsConstructor // Конструктор без аргументов (для десериализации JSON)
+@AllArgsConstructor // Конструктор со всеми полями (используется в SELECT new ...)
+public class ProductDto {
+
+    // Идентификатор товара
+    private Long id;
+
+    // Название товара
+    private String name;
+
+    // Описание товара
+    private String description;
+
+    // Цена товара (в JSON - число с двумя знаками после запятой)
+    private Money price;
+
+    // Автор товара
+    private String author;
+
+    // Путь к изображению товара
+    private String imagePath;
+
+    // Статус товара (AVAILABLE, BOOKED, SOLD)
+    private Product.ProductStatus status;
+}
+//Что делает класс ProductDto:
+//
+//Это объект передачи данных для публичного JSON API каталога.
+//
+//Отделяет формат API от JPA-сущности: изменения в Product (новые связи, служебные поля)
+//не попадают в ответ API автоматически, а данные пользователей не утекают наружу.
+//
+//Используется в ProductApiService и ProductApiController.
@@ -2,7 +2,6 @@ package com.example.musicstore.models;
 
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -21,9 +20,9 @@ public class RevenueByPeriod {
 
     /**
      * Общая выручка за указанный период
-     * Тип BigDecimal используется для точных денежных расчетов без ошибок округления
+     * Тип Money (копейки в long) используется для точных денежных расчетов без ошибок округления
      */
-    private BigDecimal revenue;
+    private Money revenue;
 
     /**
      * Количество продаж (заказов) за указанный период
@@ -33,9 +32,9 @@ public class RevenueByPeriod {
     /**
      * Средняя стоимость заказа (средний чек) за период
      * Рассчитывается как revenue / salesCount
-     * Тип BigDecimal обеспечивает точность финансовых расчетов
+     * Тип Money обеспечивает точность финансовых расчетов
      */
-    private BigDecimal averageOrderValue;
+    private Money averageOrderValue;
 }
 
 
@@ -48,7 +47,7 @@ public class RevenueByPeriod {
 //
 //Периодичность данных - позволяет анализировать выручку по дням, неделям, месяцам
 //
-//Финансовая точность - использование BigDecimal исключает ошибки округления при денежных расчетах
+//Финансовая точность - использование Money (копейки в long) исключает ошибки округления при денежных расчетах
 //
 //Комплексная аналитика - содержит не только общую выручку, но и метрики эффективности продаж
 //
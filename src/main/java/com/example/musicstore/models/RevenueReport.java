@@ -2,7 +2,6 @@ package com.example.musicstore.models;
 
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -25,10 +24,10 @@ public class RevenueReport {
     /**
      * Средний чек по всем заказам за отчетный период
      * Рассчитывается как общая выручка / количество заказов
-     * Тип BigDecimal используется для точных денежных расчетов
+     * Тип Money используется для точных денежных расчетов
      * Важный показатель эффективности продаж и ценовой политики
      */
-    private BigDecimal averageCheck;
+    private Money averageCheck;
 
     /**
      * Дата дня с максимальной выручкой за отчетный период
@@ -38,10 +37,10 @@ public class RevenueReport {
 
     /**
      * Выручка в лучший день за отчетный период
-     * Тип BigDecimal обеспечивает точность финансовых данных
+     * Тип Money обеспечивает точность финансовых данных
      * Показывает максимальный потенциал дневных продаж
      */
-    private BigDecimal bestDayRevenue;
+    private Money bestDayRevenue;
 }
 //Полное описание класса:
 //
@@ -76,4 +75,4 @@ public class RevenueReport {
 //
 //Сравнительный анализ - bestDay позволяет оценить потенциал продаж
 //
-//Точность расчетов - использование BigDecimal для финансовых данных
\ No newline at end of file
+//Точность расчетов - использование Money для финансовых данных
\ No newline at end of file
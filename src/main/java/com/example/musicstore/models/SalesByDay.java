@@ -2,7 +2,6 @@ package com.example.musicstore.models;
 
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -27,9 +26,9 @@ public class SalesByDay {
 
     /**
      * Общая выручка за указанный день
-     * Тип BigDecimal используется для точных денежных расчетов без ошибок округления
+     * Тип Money (копейки в long) используется для точных денежных расчетов без ошибок округления
      */
-    private BigDecimal revenue;
+    private Money revenue;
 }
 //Полное описание класса:
 //
@@ -7,6 +7,9 @@ import com.example.musicstore.models.enums.Role;
 import jakarta.persistence.*;
 // Импорт аннотаций Lombok для автоматической генерации кода
 import lombok.Data;
+// Импорт аннотаций Hibernate для кеша второго уровня
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 // Импорт интерфейсов и классов Spring Security
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +27,8 @@ import java.util.Set;
 @Entity
 // Аннотация задает имя таблицы в базе данных
 @Table(name = "users")
+// Кеш второго уровня (регион в ehcache.xml): пользователь читается на каждый запрос и вход
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 // Аннотация Lombok - автоматически генерирует геттеры, сеттеры, toString, equals и hashCode
 @Data   // При компиляции Lombok "видит" эту аннотацию. Генерирует байт-код с нужными методами toString(), equals(), hashCode() и конструктор
 // Класс User реализует интерфейс UserDetails Spring Security для интеграции с системой аутентификации
@@ -64,6 +69,8 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     // Аннотация определяет имя столбца для хранения ролей
     @Column(name = "role") // Явно указываем имя колонки как 'role'
+    // Роли кешируются отдельно от пользователя (регион User.roles): без этого EAGER-коллекция читается из базы при каждой загрузке
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     // Инициализация пустого множества ролей
     private Set<Role> roles = new HashSet<>();
 
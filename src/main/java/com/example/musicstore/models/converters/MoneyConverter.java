@@ -0,0 +1,31 @@
+// Объявление пакета, в котором находится конвертер
+package com.example.musicstore.models.converters;
+
+// Импорт денежного типа
+import com.example.musicstore.models.Money;
+// Импорт интерфейсов JPA для конвертации атрибутов
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Импорт класса для работы с большими десятичными числами
+import java.math.BigDecimal;
+
+/**
+ * JPA-конвертер для Money: в базе данных сумма хранится в DECIMAL-столбце (рубли с копейками),
+ * в Java - как long в копейках. Применяется автоматически ко всем атрибутам типа Money.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    // Преобразование Money в значение столбца
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money attribute) {
+        return attribute == null ? null : attribute.toBigDecimal();
+    }
+
+    // Преобразование значения столбца в Money
+    @Override
+    public Money convertToEntityAttribute(BigDecimal dbData) {
+        return Money.of(dbData);
+    }
+}
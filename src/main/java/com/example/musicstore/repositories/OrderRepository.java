@@ -1,35 +1,76 @@
 // Пакет, в котором находится репозиторий
 package com.example.musicstore.repositories;
 
-// Импорт модели Order
+// Импорт моделей Money, Order, проекции заказа для отчетов и статуса последнего заказа
+import com.example.musicstore.models.LatestOrderStatus;
+import com.example.musicstore.models.Money;
 import com.example.musicstore.models.Order;
+import com.example.musicstore.models.OrderReportRow;
 // Импорт перечисления статусов заказа
 import com.example.musicstore.models.enums.OrderStatus;
 // Импорт Spring Data JPA репозитория
 import org.springframework.data.jpa.repository.JpaRepository;
-// Импорт аннотации для кастомных SQL запросов
+// Импорт аннотаций для кастомных SQL запросов и массовых изменений
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 // Импорт аннотации для параметров запросов
 import org.springframework.data.repository.query.Param;
 // Импорт аннотации для обозначения репозитория
 import org.springframework.stereotype.Repository;
+// Импорт аннотации транзакций
+import org.springframework.transaction.annotation.Transactional;
 
-// Импорт класса для точных денежных расчетов
-import java.math.BigDecimal;
 // Импорт класса для работы с датой и временем
 import java.time.LocalDateTime;
-// Импорт интерфейса списка
+// Импорт интерфейсов коллекций
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для работы с заказами (Order entity).
  * Предоставляет методы для CRUD операций и кастомные запросы для работы с заказами.
  */
 @Repository // Аннотация указывает, что это компонент репозитория Spring
+// Запросы репозитория по умолчанию только читают: такие транзакции уходят на реплику (профиль replica)
+@Transactional(readOnly = true)
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     // Находит все заказы по ID товара
-    List<Order> findByProductId(Long productId);
+    // (условие по внешнему ключу o.product_id - индекс idx_orders_product_date; производный запрос
+    // фильтровал по products.id после соединения и просматривал всю таблицу orders)
+    @Query("SELECT o FROM Order o WHERE o.product.id = :productId")
+    List<Order> findByProductId(@Param("productId") Long productId);
+
+    // Статус последнего заказа товара: одна строка по индексу idx_orders_product_date вместо всех заказов товара
+    @Query("SELECT o.status FROM Order o WHERE o.product.id = :productId ORDER BY o.orderDate DESC, o.id DESC LIMIT 1")
+    Optional<OrderStatus> findLatestStatusByProductId(@Param("productId") Long productId);
+
+    // То же сразу для многих товаров: заказ последний, если у товара нет заказа позже него
+    // (NOT EXISTS проверяется одним поиском по тому же индексу); товары без заказов в результат не попадают
+    @Query("SELECT new com.example.musicstore.models.LatestOrderStatus(o.product.id, o.status) FROM Order o " +
+            "WHERE o.product.id IN :productIds AND NOT EXISTS (SELECT 1 FROM Order n WHERE n.product.id = o.product.id " +
+            "AND (n.orderDate > o.orderDate OR (n.orderDate = o.orderDate AND n.id > o.id)))")
+    List<LatestOrderStatus> findLatestStatuses(@Param("productIds") Collection<Long> productIds);
+
+    // Даты завершенных заказов товаров (сброс кеша отчетов перед массовой отменой или удалением заказов)
+    @Query("SELECT o.orderDate FROM Order o WHERE o.product.id IN :productIds AND o.status = 'COMPLETED'")
+    List<LocalDateTime> findCompletedOrderDates(@Param("productIds") Collection<Long> productIds);
+
+    // Отмена всех заказов товаров одним UPDATE (вместо загрузки и save каждого заказа).
+    // Изменения контекста сначала записываются в базу, после запроса контекст очищается:
+    // загруженные ранее заказы иначе остались бы со старым статусом
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Order o SET o.status = 'CANCELLED' " +
+            "WHERE o.product.id IN :productIds AND o.status <> 'CANCELLED'")
+    int cancelByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // Удаление всех заказов товаров одним DELETE (вместо загрузки и deleteAll по одному)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Order o WHERE o.product.id IN :productIds")
+    int deleteByProductIds(@Param("productIds") Collection<Long> productIds);
 
     //----------------------------------------
     // Находит все заказы по ID пользователя
@@ -44,6 +85,14 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // Находит заказы по статусу в указанном временном промежутке
     List<Order> findByStatusAndOrderDateBetween(OrderStatus status, LocalDateTime start, LocalDateTime end);
 
+    // Проекция заказов по статусу за период для построения отчетов
+    // (только нужные поля, без загрузки связанных Product и User)
+    @Query("SELECT new com.example.musicstore.models.OrderReportRow(o.orderDate, o.totalAmount, o.quantity, p.author) " +
+            "FROM Order o LEFT JOIN o.product p WHERE o.status = :status AND o.orderDate BETWEEN :start AND :end")
+    List<OrderReportRow> findReportRows(@Param("status") OrderStatus status,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end);
+
     // Новые методы для статистики
     // Подсчитывает количество заказов по статусу
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
@@ -58,8 +107,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Long countByProductIdAndStatus(@Param("productId") Long productId, @Param("status") OrderStatus status);
 
     // Вычисляет общую выручку за период для завершенных заказов
+    // (сумма DECIMAL из базы преобразуется в Money через Money.of)
     @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.orderDate BETWEEN :start AND :end AND o.status = 'COMPLETED'")
-    BigDecimal getTotalRevenueByPeriod(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    Money getTotalRevenueByPeriod(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     // Подсчитывает количество завершенных заказов за период
     @Query("SELECT COUNT(o) FROM Order o WHERE o.orderDate BETWEEN :start AND :end AND o.status = 'COMPLETED'")
@@ -84,8 +134,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o JOIN FETCH o.user JOIN FETCH o.product WHERE o.status = :status")
     List<Order> findByStatusWithUserAndProduct(@Param("status") OrderStatus status);
 
-    // Находит заказы пользователя, исключая указанные статусы
-    List<Order> findByUserIdAndStatusNotIn(Long userId, List<OrderStatus> cancelled);
+    // Находит заказы пользователя, исключая указанные статусы (индекс idx_orders_user_status)
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId AND o.status NOT IN :statuses")
+    List<Order> findByUserIdAndStatusNotIn(@Param("userId") Long userId, @Param("statuses") List<OrderStatus> cancelled);
 
     // Находит все заказы пользователя
     List<Order> findByUserId(Long userId);
@@ -1,13 +1,26 @@
 package com.example.musicstore.repositories;
 
 import com.example.musicstore.models.Product;
+import com.example.musicstore.models.ProductDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
 
+// Запросы репозитория по умолчанию только читают: такие транзакции уходят на реплику (профиль replica)
+@Transactional(readOnly = true)
 public interface ProductRepository extends JpaRepository<Product, Long> {
    //Метод поиска по статусу (автогенерация)
     List<Product> findByStatus(Product.ProductStatus status);
@@ -18,13 +31,45 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             LocalDateTime expiryDate
     );
 
+    //Массовые операции администратора: id забронированных товаров и пути изображений из списка
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND p.status = 'BOOKED'")
+    List<Long> findBookedIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.imagePath FROM Product p WHERE p.id IN :ids AND p.imagePath IS NOT NULL AND p.imagePath <> ''")
+    List<String> findImagePaths(@Param("ids") Collection<Long> ids);
+
+    //Снятие брони одним UPDATE для списка товаров (только забронированные).
+    //Массовый UPDATE сбрасывает весь регион Product в кеше второго уровня, поэтому одиночные операции идут через сущность
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Product p SET p.status = 'AVAILABLE', " +
+            "p.bookedBy = null, p.bookingExpiry = null " +
+            "WHERE p.id IN :ids AND p.status = 'BOOKED'")
+    int releaseBookings(@Param("ids") Collection<Long> ids);
+
+    //Удаление списка товаров одним DELETE (заказы товаров удаляются до него)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    //Снятие всех истекших броней одним UPDATE (по индексу idx_products_status_expiry)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Product p SET p.status = 'AVAILABLE', " +
+            "p.bookedBy = null, p.bookingExpiry = null " +
+            "WHERE p.status = 'BOOKED' AND p.bookingExpiry < :now")
+    int releaseExpiredBookings(@Param("now") LocalDateTime now);
+
     //Метод с кастомным JPQL-запросом (уникальные авторы)
     //Что делает
     //Находит уникальных авторов товаров
     //Исключает null значения
     //Сортирует по алфавиту
     //Возвращает только имена авторов (не полные объекты)
+    //Результат в кеше запросов: сбрасывается при любом изменении таблицы products через Hibernate
     @Query("SELECT DISTINCT p.author FROM Product p WHERE p.author IS NOT NULL ORDER BY p.author")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<String> findAllDistinctAuthors();
 
 
@@ -48,17 +93,38 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     //@Query — это аннотация Spring Data JPA, которая позволяет создавать кастомные SQL/JPQL запросы для методов репозитория.
     // Новые методы для статистики
+    //Счетчики по статусам тоже в кеше запросов (статистика отчетов)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Long countByStatus(Product.ProductStatus status);
 
     @Query("SELECT COUNT(p) FROM Product p WHERE p.status = 'SOLD' AND p.buyer IS NOT NULL")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Long countSoldProducts();
 
     @Query("SELECT COUNT(p) FROM Product p WHERE p.status = 'BOOKED'")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Long countBookedProducts();
 
     @Query("SELECT COUNT(p) FROM Product p WHERE p.status = 'AVAILABLE'")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Long countAvailableProducts();
 
+    //Постраничная выборка для JSON API (keyset: страница товаров с id больше последнего выданного)
+    //Возвращает DTO прямо из запроса, без загрузки сущностей и связанных пользователей (bookedBy, buyer)
+    @Query("SELECT new com.example.musicstore.models.ProductDto(p.id, p.name, p.description, p.price, p.author, p.imagePath, p.status) " +
+            "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductDto> findDtoPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    //То же с поиском по названию (без учета регистра)
+    @Query("SELECT new com.example.musicstore.models.ProductDto(p.id, p.name, p.description, p.price, p.author, p.imagePath, p.status) " +
+            "FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) AND p.id > :afterId ORDER BY p.id")
+    List<ProductDto> searchDtoPage(@Param("query") String query, @Param("afterId") Long afterId, Pageable pageable);
+
+    //Один товар в виде DTO
+    @Query("SELECT new com.example.musicstore.models.ProductDto(p.id, p.name, p.description, p.price, p.author, p.imagePath, p.status) " +
+            "FROM Product p WHERE p.id = :id")
+    Optional<ProductDto> findDtoById(@Param("id") Long id);
+
  List<Product> findByNameContainingIgnoreCase(String searchTerm);
 
  List<Product> findByName(String trim);
@@ -0,0 +1,27 @@
+package com.example.musicstore.repositories;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Точечные UPDATE строки пользователя (баланс, хеш пароля) для UserRepository.
+ * Выполняются через JDBC, а не JPQL: массовый JPQL UPDATE по User сбрасывает весь регион кеша
+ * второго уровня User и User.roles, то есть кеш всех пользователей на каждой покупке, пополнении и входе.
+ * Здесь из кеша удаляется только измененный пользователь (UserAccountUpdatesImpl).
+ */
+public interface UserAccountUpdates {
+
+    // Списание одним UPDATE: баланс проверяется и уменьшается атомарно, без предварительного SELECT
+    @Transactional
+    int deductBalance(String email, BigDecimal amount, LocalDateTime now);
+
+    // Новый хеш пароля (перехеширование при входе)
+    @Transactional
+    int updatePassword(String email, String password);
+
+    // Пополнение одним UPDATE
+    @Transactional
+    int addBalance(String email, BigDecimal amount, LocalDateTime now);
+}
@@ -0,0 +1,73 @@
+package com.example.musicstore.repositories;
+
+import com.example.musicstore.models.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Реализация UserAccountUpdates: UPDATE через JdbcTemplate в текущей транзакции JPA
+ * (JpaTransactionManager отдает JdbcTemplate то же соединение), затем из кеша второго уровня
+ * удаляется только этот пользователь - сразу и еще раз после фиксации, чтобы параллельное чтение
+ * до фиксации не вернуло в кеш старую строку. Роли не меняются, регион User.roles не трогается.
+ * Кешируемых запросов по таблице users нет, поэтому отметки времени запросов не обновляются.
+ */
+@RequiredArgsConstructor
+class UserAccountUpdatesImpl implements UserAccountUpdates {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public int deductBalance(String email, BigDecimal amount, LocalDateTime now) {
+        int updated = jdbcTemplate.update("UPDATE users SET balance = balance - ?, updated_at = ? "
+                + "WHERE email = ? AND balance >= ?", amount, Timestamp.valueOf(now), email, amount);
+        evictUpdated(email, updated);
+        return updated;
+    }
+
+    @Override
+    public int updatePassword(String email, String password) {
+        int updated = jdbcTemplate.update("UPDATE users SET password = ? WHERE email = ?", password, email);
+        evictUpdated(email, updated);
+        return updated;
+    }
+
+    @Override
+    public int addBalance(String email, BigDecimal amount, LocalDateTime now) {
+        int updated = jdbcTemplate.update("UPDATE users SET balance = COALESCE(balance, 0) + ?, updated_at = ? "
+                + "WHERE email = ?", amount, Timestamp.valueOf(now), email);
+        evictUpdated(email, updated);
+        return updated;
+    }
+
+    // Удаление измененного пользователя из кеша второго уровня
+    private void evictUpdated(String email, int updated) {
+        if (updated == 0) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email = ?", Long.class, email);
+        for (Long id : ids) {
+            evict(id);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        evict(id);
+                    }
+                });
+            }
+        }
+    }
+
+    private void evict(Long id) {
+        entityManagerFactory.getCache().evict(User.class, id);
+    }
+}
@@ -3,11 +3,14 @@ package com.example.musicstore.repositories;
 import com.example.musicstore.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+// Запросы репозитория по умолчанию только читают: такие транзакции уходят на реплику (профиль replica)
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, Long>, UserAccountUpdates {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 
@@ -18,4 +21,4 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u ORDER BY u.id ASC")
     List<User> findAllByOrderByIdAsc();
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.example.musicstore.services;
+
+import com.example.musicstore.models.Cart;
+import com.example.musicstore.models.CartItem;
+import com.example.musicstore.models.CartValidationResult;
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сервис перепроверки корзины перед оформлением заказа.
+ * Цены и статусы в CartItem фиксируются в момент добавления в корзину и к оформлению могут устареть,
+ * поэтому все товары корзины загружаются одним запросом (findAllById -> WHERE id IN (...))
+ * и сверяются за один проход, без отдельного обращения к базе на каждый товар.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartValidationService {
+
+    // Репозиторий для работы с товарами в базе данных
+    private final ProductRepository productRepository;
+
+    /**
+     * Вид оформления, для которого проверяется корзина
+     */
+    public enum CheckoutMode {
+        BUY,     // Покупка: допускаются товары, забронированные самим покупателем
+        RESERVE  // Бронирование: допускаются только свободные товары
+    }
+
+    /**
+     * Перепроверка корзины: обновляет цены и статусы позиций по текущим данным
+     * и собирает список изменений и недоступных товаров
+     * @param cart корзина пользователя
+     * @param email email пользователя, оформляющего заказ
+     * @param mode вид оформления
+     * @return результат проверки
+     */
+    // Не readOnly: такие транзакции читают с реплики (DataSourceRoutingConfig), а перед оформлением
+    // цены и статусы нужны из основной базы, без отставания реплики
+    @Transactional
+    public CartValidationResult revalidate(Cart cart, String email, CheckoutMode mode) {
+        CartValidationResult result = new CartValidationResult();
+        if (cart.getItems().isEmpty()) {
+            return result;
+        }
+
+        // Один запрос на все товары корзины
+        List<Product> products = productRepository.findAllById(cart.getItems().keySet());
+        Map<Long, Product> byId = new HashMap<>(products.size() * 2);
+        for (Product product : products) {
+            byId.put(product.getId(), product);
+        }
+
+        // Копия ключей: цена позиции обновляется в процессе обхода
+        for (Long productId : List.copyOf(cart.getItems().keySet())) {
+            CartItem item = cart.getItems().get(productId);
+            Product product = byId.get(productId);
+
+            // Проверка доступности товара
+            String reason = unavailableReason(product, email, mode);
+            if (reason != null) {
+                result.getUnavailableItems().add(
+                        new CartValidationResult.UnavailableItem(productId, item.getProductName(), reason));
+                continue;
+            }
+            item.setStatus(product.getStatus());
+
+            // Проверка цены: в корзине сохраняем актуальную цену
+            long currentCents = product.getPrice().getMinorUnits();
+            if (currentCents != item.getUnitPriceCents()) {
+                Money oldPrice = item.getPrice();
+                cart.updateUnitPrice(productId, currentCents);
+                result.getPriceChanges().add(new CartValidationResult.PriceChange(
+                        productId, product.getName(), oldPrice, item.getPrice()));
+            }
+        }
+
+        if (!result.isValid()) {
+            log.debug("Корзина пользователя {} изменилась: {} изменений цены, {} недоступных товаров",
+                    email, result.getPriceChanges().size(), result.getUnavailableItems().size());
+        }
+        return result;
+    }
+
+    /**
+     * Определение причины недоступности товара (те же правила, что в ProductService.purchaseProduct/bookProduct)
+     * @param product товар из базы данных (null если удален)
+     * @param email email пользователя
+     * @param mode вид оформления
+     * @return причина недоступности или null если товар доступен
+     */
+    private String unavailableReason(Product product, String email, CheckoutMode mode) {
+        if (product == null) {
+            return "Товар удален из каталога";
+        }
+        if (email.equals(product.getAuthor())) {
+            return "Нельзя покупать или бронировать собственный товар";
+        }
+        if (product.getStatus() == Product.ProductStatus.SOLD) {
+            return "Товар уже продан";
+        }
+        if (product.getStatus() == Product.ProductStatus.BOOKED) {
+            boolean bookedBySelf = product.getBookedBy() != null && email.equals(product.getBookedBy().getEmail());
+            if (mode == CheckoutMode.RESERVE) {
+                return bookedBySelf ? "Товар уже забронирован вами" : "Товар забронирован другим пользователем";
+            }
+            if (!bookedBySelf) {
+                return "Товар забронирован другим пользователем";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.musicstore.services;
+
+import com.example.musicstore.configurations.ReplicaLagMonitor;
+import com.example.musicstore.models.User;
+import com.example.musicstore.repositories.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Пользователь по email (principal) без повторных запросов findByEmail.
+ * В рамках HTTP-запроса пользователь загружается не больше одного раза (хранится в атрибутах запроса),
+ * между запросами - кешируется на короткое время users.cache.ttl (LRU на users.cache.max-entries записей).
+ *
+ * Возвращаемый User отсоединен от сессии Hibernate (open-in-view выключен) и общий для запросов:
+ * его можно ставить в связи (заказ, покупатель), но нельзя изменять. После изменения пользователя
+ * (баланс, роли, активность, удаление) нужно вызвать evict.
+ * С репликой (профиль replica) пользователь, загруженный вскоре после записи, между запросами не кешируется:
+ * реплика могла еще не получить изменение (ReplicaLagMonitor.isReadCacheable).
+ */
+@Service
+public class CurrentUserResolver {
+
+    // Префикс атрибута запроса с загруженным пользователем
+    private static final String ATTRIBUTE = CurrentUserResolver.class.getName() + ".";
+
+    // Запись кеша со временем истечения
+    private record Entry(User user, long expiresAtMillis) {
+    }
+
+    private final UserRepository userRepository;
+    private final Duration ttl;
+
+    // Состояние реплики для чтения (только с профилем replica)
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    // LRU-мапа в порядке обращения (доступ под блокировкой this)
+    private final LinkedHashMap<String, Entry> entries;
+
+    public CurrentUserResolver(UserRepository userRepository,
+                               @Value("${users.cache.max-entries:10000}") int maxEntries,
+                               @Value("${users.cache.ttl:10s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Autowired(required = false)
+    void setReplicaLagMonitor(ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    /**
+     * Пользователь по email
+     * @param email email пользователя (имя principal)
+     * @return пользователь (не изменять)
+     * @throws EntityNotFoundException если пользователь не найден
+     */
+    public User resolve(String email) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            User user = (User) request.getAttribute(ATTRIBUTE + email, RequestAttributes.SCOPE_REQUEST);
+            if (user != null) {
+                return user;
+            }
+        }
+
+        User user = cached(email);
+        if (user == null) {
+            user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден: " + email));
+            remember(user);
+        }
+        if (request != null) {
+            request.setAttribute(ATTRIBUTE + email, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * Сохранение только что загруженного пользователя (например, при входе)
+     * @param user пользователь, загруженный из базы
+     */
+    public synchronized void remember(User user) {
+        if (replicaLagMonitor != null && !replicaLagMonitor.isReadCacheable()) {
+            return;
+        }
+        entries.put(user.getEmail(), new Entry(user, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    /**
+     * Сброс пользователя после его изменения в базе
+     * @param email email пользователя
+     */
+    public void evict(String email) {
+        synchronized (this) {
+            entries.remove(email);
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(ATTRIBUTE + email, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private synchronized User cached(String email) {
+        Entry entry = entries.get(email);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+            entries.remove(email);
+            return null;
+        }
+        return entry.user();
+    }
+}
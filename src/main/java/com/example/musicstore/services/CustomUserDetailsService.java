@@ -9,30 +9,38 @@ import com.example.musicstore.models.enums.Role;
 import com.example.musicstore.repositories.UserRepository;
 // Импорт интерфейса UserDetails из Spring Security
 import org.springframework.security.core.userdetails.UserDetails;
-// Импорт интерфейса UserDetailsService из Spring Security
+// Импорт интерфейсов UserDetailsService и UserDetailsPasswordService из Spring Security
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 // Импорт исключения для случая, когда пользователь не найден
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 // Импорт аннотации для обозначения сервиса Spring
 import org.springframework.stereotype.Service;
+// Импорт аннотации транзакции
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Сервис для загрузки данных пользователя в Spring Security.
- * Реализует интерфейс UserDetailsService для интеграции с Spring Security.
+ * Реализует интерфейс UserDetailsService для интеграции с Spring Security
+ * и UserDetailsPasswordService для перехеширования пароля при входе (устаревший формат или стоимость BCrypt).
  */
 @Service // Аннотация указывает, что это компонент сервиса Spring
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     // Репозиторий для работы с пользователями в базе данных
     private final UserRepository userRepository;
+    // Кеш текущего пользователя: загруженный при входе пользователь не запрашивается повторно на первой странице
+    private final CurrentUserResolver currentUserResolver;
 
     /**
-     * Конструктор с внедрением зависимости UserRepository (Dependency Injection)
+     * Конструктор с внедрением зависимостей (Dependency Injection)
      * Это позволяет работать с базой данных для поиска пользователей
      * @param userRepository - репозиторий пользователей
+     * @param currentUserResolver - кеш текущего пользователя
      */
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, CurrentUserResolver currentUserResolver) {
         this.userRepository = userRepository;
+        this.currentUserResolver = currentUserResolver;
     }
 
     /**
@@ -48,6 +56,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 // Если пользователь не найден, выбрасывает исключение
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + email));
+        currentUserResolver.remember(user);
 
         // Преобразование объекта User в UserDetails для Spring Security:
         return org.springframework.security.core.userdetails.User.builder()
@@ -67,6 +76,24 @@ public class CustomUserDetailsService implements UserDetailsService {
                 // Создаёт immutable (неизменяемый) объект UserDetails
                 .build();
     }
+
+    /**
+     * Сохранение нового хеша пароля. Вызывается DaoAuthenticationProvider после успешного входа,
+     * если хеш устарел (нет префикса {bcrypt} или стоимость BCrypt ниже настроенной)
+     * @param user - вошедший пользователь
+     * @param newPassword - новый хеш пароля
+     * @return UserDetails с новым хешем
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        // Закешированный пользователь - со старым хешем
+        currentUserResolver.evict(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
 //Что делает класс CustomUserDetailsService:
 //
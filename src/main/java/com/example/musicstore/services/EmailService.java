@@ -1,5 +1,6 @@
 package com.example.musicstore.services;
 
+import com.example.musicstore.configurations.StoreMetrics;
 import com.example.musicstore.models.NotificationRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ public class EmailService {
 
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final StoreMetrics storeMetrics;
 
     /**
      * Отправка простого текстового email-сообщения
@@ -33,14 +35,17 @@ public class EmailService {
      * @param text текст сообщения
      */
     public void sendSimpleEmail(String to, String subject, String text) {
+        long started = System.nanoTime();
         try {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setTo(to);
             message.setSubject(subject);
             message.setText(text);
             mailSender.send(message);
+            storeMetrics.email("simple", true, System.nanoTime() - started);
             log.info("Email sent to: {}", to);
         } catch (Exception e) {
+            storeMetrics.email("simple", false, System.nanoTime() - started);
             log.error("Failed to send email to: {}", to, e);
         }
     }
@@ -55,6 +60,7 @@ public class EmailService {
      * @throws RuntimeException если отправка письма не удалась
      */
     private void sendHtmlEmail(String to, String subject, String templateName, Context context) {
+        long started = System.nanoTime();
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -68,8 +74,10 @@ public class EmailService {
             helper.setText(htmlContent, true);
 
             mailSender.send(message);
+            storeMetrics.email(templateName, true, System.nanoTime() - started);
             log.info("Email successfully sent to: {}", to);
         } catch (Exception e) {
+            storeMetrics.email(templateName, false, System.nanoTime() - started);
             log.error("Failed to send email to: {}", to, e);
             throw new RuntimeException("Email sending failed", e);
         }
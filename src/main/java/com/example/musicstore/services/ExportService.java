@@ -1,5 +1,6 @@
 package com.example.musicstore.services;
 
+import com.example.musicstore.configurations.StoreMetrics;
 import com.example.musicstore.repositories.ExportServices;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -18,16 +19,19 @@ import lombok.RequiredArgsConstructor;
 import com.example.musicstore.models.ReportData;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 /**
  * Сервис для экспорта отчетов в различные форматы (Excel, PDF)
  */
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class ExportService implements ExportServices {
 
     private final ReportService reportService;
+    private final StoreMetrics storeMetrics;
 
     /**
      * Экспортирует данные в Excel формат
@@ -38,6 +42,7 @@ public class ExportService implements ExportServices {
      * @return поток байтов с Excel файлом
      */
     public ByteArrayInputStream exportToExcel(LocalDate startDate, LocalDate endDate, String reportType, String authorFilter) {
+        long started = System.nanoTime();
         // Генерируем данные отчета через сервис отчетов
         ReportData reportData = reportService.generateReport(startDate, endDate, authorFilter);
 
@@ -57,6 +62,7 @@ public class ExportService implements ExportServices {
             // Записываем workbook в выходной поток
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             workbook.write(out);
+            storeMetrics.export("excel", reportType, System.nanoTime() - started, out.size());
             return new ByteArrayInputStream(out.toByteArray());
 
         } catch (IOException e) {
@@ -94,9 +100,9 @@ public class ExportService implements ExportServices {
         // Добавляем итоговую строку
         Row totalRow = sheet.createRow(rowNum);
         totalRow.createCell(0).setCellValue("ИТОГО:");
-        totalRow.createCell(1).setCellValue(revenue.getByPeriod().stream()
-                .map(RevenueByPeriod::getRevenue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add).doubleValue());
+        totalRow.createCell(1).setCellValue(Money.ofMinor(revenue.getByPeriod().stream()
+                .mapToLong(period -> period.getRevenue().getMinorUnits())
+                .sum()).doubleValue());
         totalRow.createCell(2).setCellValue(revenue.getByPeriod().stream()
                 .mapToLong(RevenueByPeriod::getSalesCount)
                 .sum());
@@ -164,6 +170,7 @@ public class ExportService implements ExportServices {
     @Override
     public ByteArrayInputStream exportToPdf(LocalDate startDate, LocalDate endDate,
                                             String reportType, String authorFilter) {
+        long started = System.nanoTime();
 
         // Генерируем данные отчета
         ReportData reportData = reportService.generateReport(startDate, endDate, authorFilter);
@@ -238,6 +245,7 @@ public class ExportService implements ExportServices {
 
             // Сохраняем документ в выходной поток
             document.save(out);
+            storeMetrics.export("pdf", reportType, System.nanoTime() - started, out.size());
             return new ByteArrayInputStream(out.toByteArray());
 
         } catch (IOException e) {
@@ -257,8 +265,10 @@ public class ExportService implements ExportServices {
         }
 
         String result;
-        if (value instanceof BigDecimal) {
-            result = ((BigDecimal) value).setScale(2, RoundingMode.HALF_UP).toString();
+        if (value instanceof Money || value instanceof BigDecimal) {
+            result = value instanceof Money money
+                    ? money.toString()
+                    : ((BigDecimal) value).setScale(2, RoundingMode.HALF_UP).toString();
             if (isCurrency) {
                 result += " RUB"; // Используем RUB вместо руб. из-за проблем с кириллицей
             }
@@ -309,6 +319,9 @@ public class ExportService implements ExportServices {
         if (value == null) {
             return "0";
         }
+        if (value instanceof Money) {
+            return value + " RUB";
+        }
         if (value instanceof BigDecimal) {
             return ((BigDecimal) value).setScale(2, RoundingMode.HALF_UP) + " RUB";
         }
@@ -348,10 +361,10 @@ public class ExportService implements ExportServices {
      * @param value денежное значение
      * @return отформатированная денежная сумма
      */
-    private String getSafeValue(BigDecimal value) {
+    private String getSafeValue(Money value) {
         if (value == null) {
             return "0.00 руб.";
         }
-        return value.setScale(2, RoundingMode.HALF_UP) + " руб.";
+        return value + " руб.";
     }
 }
\ No newline at end of file
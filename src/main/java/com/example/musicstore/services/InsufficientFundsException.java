@@ -0,0 +1,12 @@
+package com.example.musicstore.services;
+
+/**
+ * Недостаточно средств на счете для оплаты покупки.
+ * Бросается внутри транзакции покупки, поэтому откатывает и уже оформленные заказы
+ */
+public class InsufficientFundsException extends IllegalStateException {
+
+    public InsufficientFundsException() {
+        super("Недостаточно средств на счете");
+    }
+}
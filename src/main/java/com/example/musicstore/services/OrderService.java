@@ -1,5 +1,7 @@
 package com.example.musicstore.services;
 
+import com.example.musicstore.events.CompletedOrderChangedEvent;
+import com.example.musicstore.models.Money;
 import com.example.musicstore.models.Order;
 import com.example.musicstore.models.Product;
 import com.example.musicstore.models.User;
@@ -11,10 +13,10 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -39,6 +41,9 @@ public class OrderService {
     // Сервис для работы с товарами
     private final ProductService productService;
 
+    // Публикация событий (сброс кеша отчетов при изменении завершенных заказов)
+    private final ApplicationEventPublisher eventPublisher;
+
     // Логгер для записи событий и ошибок
     private final Logger log = LoggerFactory.getLogger(OrderService.class);
 
@@ -63,6 +68,9 @@ public class OrderService {
 
         // 4. Удаляем заказ из репозитория
         orderRepository.delete(order);
+        if (order.getStatus() == OrderStatus.COMPLETED) {
+            publishCompletedOrderChanged(order);
+        }
 
         // 5. Логируем успешное удаление заказа
         log.info("Заказ удален: ID {}, Пользователь: {}, Товар: {}",
@@ -130,7 +138,7 @@ public class OrderService {
         order.setUser(user); // Установка пользователя
         order.setQuantity(quantity); // Установка количества
         // Расчет общей суммы: цена товара * количество
-        order.setTotalAmount(BigDecimal.valueOf(product.getPrice()).multiply(BigDecimal.valueOf(quantity)));
+        order.setTotalAmount(product.getPrice().times(quantity));
         order.setStatus(status); // Установка статуса
         order.setOrderDate(LocalDateTime.now()); // Установка даты заказа
 
@@ -144,6 +152,9 @@ public class OrderService {
 
         // 7. Синхронизация статуса товара после создания заказа
         productService.syncProductStatusFromOrders(productId);
+        if (status == OrderStatus.COMPLETED) {
+            publishCompletedOrderChanged(savedOrder);
+        }
 
         // 8. Возврат сохраненного заказа
         return savedOrder;
@@ -178,6 +189,9 @@ public class OrderService {
         // 6. Автоматическая синхронизация статуса продукта при изменении статуса
         if (oldStatus != newStatus) {
             productService.syncProductStatusFromOrders(order.getProduct().getId());
+            if (oldStatus == OrderStatus.COMPLETED || newStatus == OrderStatus.COMPLETED) {
+                publishCompletedOrderChanged(savedOrder);
+            }
         }
 
         // 7. Возврат обновленного заказа
@@ -205,7 +219,7 @@ public class OrderService {
      * Получение общей выручки
      * @return общая выручка от всех заказов
      */
-    public BigDecimal getTotalRevenue() {
+    public Money getTotalRevenue() {
         // Получение выручки за весь период (с очень ранней даты до текущего момента)
         return orderRepository.getTotalRevenueByPeriod(
                 LocalDateTime.of(2000, 1, 1, 0, 0), // Начальная дата
@@ -253,7 +267,7 @@ public class OrderService {
             List<Order> orders = orderRepository.findByUserId(userId);
 
             // Логирование успешного завершения
-            log.info("Found {} orders for user ID: {}", orders.size(), userId);
+            log.debug("Found {} orders for user ID: {}", orders.size(), userId);
 
             return orders;
         } catch (Exception e) {
@@ -265,6 +279,15 @@ public class OrderService {
         }
     }
 
+    /**
+     * Публикация события об изменении завершенных заказов (обрабатывается после фиксации транзакции)
+     * @param order добавленный, измененный или удаленный заказ
+     */
+    private void publishCompletedOrderChanged(Order order) {
+        eventPublisher.publishEvent(new CompletedOrderChangedEvent(
+                order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : null));
+    }
+
     /**
      * Получить активные заказы пользователя (не отмененные и не завершенные)
      * @param userId ID пользователя
@@ -282,7 +305,7 @@ public class OrderService {
             );
 
             // Логирование успешного завершения
-            log.info("Found {} active orders for user ID: {}", activeOrders.size(), userId);
+            log.debug("Found {} active orders for user ID: {}", activeOrders.size(), userId);
 
             return activeOrders;
         } catch (Exception e) {
@@ -0,0 +1,85 @@
+package com.example.musicstore.services;
+
+import com.example.musicstore.models.ProductDto;
+import com.example.musicstore.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Сервис JSON API каталога.
+ * Товары выдаются потоком (Flux) страницами по id (keyset): следующая страница запрашивается из базы
+ * только когда клиент прочитал предыдущую (обратное давление), поэтому весь каталог
+ * не накапливается в памяти сервера. Блокирующие JPA-запросы выполняются на Schedulers.boundedElastic.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductApiService {
+
+    // Репозиторий для работы с товарами в базе данных
+    private final ProductRepository productRepository;
+
+    // Размер страницы, загружаемой из базы за один запрос
+    @Value("${api.products.page-size:200}")
+    private int pageSize;
+
+    /**
+     * Поток всех товаров по возрастанию id
+     * @return поток товаров
+     */
+    public Flux<ProductDto> streamAll() {
+        return pages(afterId -> productRepository.findDtoPage(afterId, page()));
+    }
+
+    /**
+     * Поток товаров, название которых содержит строку (без учета регистра)
+     * @param query строка поиска
+     * @return поток найденных товаров
+     */
+    public Flux<ProductDto> search(String query) {
+        String trimmed = query.trim();
+        return pages(afterId -> productRepository.searchDtoPage(trimmed, afterId, page()));
+    }
+
+    /**
+     * Товар по id
+     * @param id идентификатор товара
+     * @return товар или пустой Mono, если товара нет
+     */
+    public Mono<ProductDto> findById(Long id) {
+        return Mono.fromCallable(() -> productRepository.findDtoById(id).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Постраничная выдача: страница загружается по запросу подписчика, курсор - id последнего товара
+    private Flux<ProductDto> pages(Function<Long, List<ProductDto>> loadAfter) {
+        return Flux.<List<ProductDto>, Long>generate(() -> 0L, (afterId, sink) -> {
+                    List<ProductDto> page = loadAfter.apply(afterId);
+                    if (page.isEmpty()) {
+                        sink.complete();
+                        return afterId;
+                    }
+                    sink.next(page);
+                    // Неполная страница - последняя, лишний запрос не нужен
+                    if (page.size() < pageSize) {
+                        sink.complete();
+                    }
+                    return page.get(page.size() - 1).getId();
+                })
+                // prefetch 1: вперед загружается не больше одной страницы
+                .concatMapIterable(Function.identity(), 1)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Pageable page() {
+        return PageRequest.of(0, pageSize);
+    }
+}
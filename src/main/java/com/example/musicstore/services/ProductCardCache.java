@@ -0,0 +1,143 @@
+package com.example.musicstore.services;
+
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Product;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Кеш готового HTML карточек товаров каталога (шаблон fragments/product-card) по ключу id товара + версия.
+ * Версия - все поля, которые показывает карточка: если товар изменился любым путем (сервис, массовый UPDATE,
+ * SQL мимо приложения), версия не совпадет и карточка отрисуется заново, поэтому отдельный сброс не нужен.
+ * Страница каталога собирается из готовых карточек: Thymeleaf разбирает и вычисляет только саму страницу.
+ *
+ * Карточки общие для всех пользователей: CSRF-токен сессии подставляется вместо метки при каждой выдаче.
+ * Размер ограничен: при переполнении вытесняется карточка, к которой дольше всего не обращались (LRU),
+ * так же уходят карточки удаленных товаров.
+ * Попадания и промахи выдаются в метриках cache.gets{cache=product-cards}.
+ */
+@Component
+public class ProductCardCache implements MeterBinder {
+
+    // Шаблон и фрагмент карточки
+    static final String TEMPLATE = "fragments/product-card";
+    static final String FRAGMENT = "card";
+
+    // Метка на месте скрытого поля CSRF в закешированной карточке
+    static final String CSRF_MARKER = "<!--csrf-->";
+
+    /**
+     * Версия карточки: поля товара, которые видны в ней
+     */
+    record Version(Product.ProductStatus status, String name, String author, String description,
+                   Money price, String imagePath, LocalDateTime bookingExpiry) {
+
+        static Version of(Product product) {
+            return new Version(product.getStatus(), product.getName(), product.getAuthor(), product.getDescription(),
+                    product.getPrice(), product.getImagePath(), product.getBookingExpiry());
+        }
+    }
+
+    // Запись кеша: версия товара и HTML карточки для нее
+    private record Entry(Version version, String html) {
+    }
+
+    private final TemplateEngine templateEngine;
+
+    // LRU-мапа в порядке обращения (доступ под блокировкой this)
+    private final LinkedHashMap<Long, Entry> entries;
+
+    // Счетчики обращений для метрик
+    private long hits;
+    private long misses;
+
+    public ProductCardCache(TemplateEngine templateEngine,
+                            @Value("${catalog.card-cache.max-entries:50000}") int maxEntries) {
+        this.templateEngine = templateEngine;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * HTML карточек товаров для страницы каталога
+     * @param products товары в порядке вывода
+     * @param csrfToken CSRF-токен текущего запроса (null - формы без токена)
+     * @return HTML карточек в том же порядке
+     */
+    public List<String> cards(List<Product> products, CsrfToken csrfToken) {
+        String csrfInput = csrfToken == null ? "" : "<input type=\"hidden\" name=\""
+                + HtmlUtils.htmlEscape(csrfToken.getParameterName()) + "\" value=\""
+                + HtmlUtils.htmlEscape(csrfToken.getToken()) + "\">";
+        List<String> cards = new ArrayList<>(products.size());
+        for (Product product : products) {
+            cards.add(card(product).replace(CSRF_MARKER, csrfInput));
+        }
+        return cards;
+    }
+
+    // Карточка из кеша или новая отрисовка; рендер идет без блокировки, одновременные промахи лишь рисуют дважды
+    String card(Product product) {
+        Version version = Version.of(product);
+        synchronized (this) {
+            Entry entry = entries.get(product.getId());
+            if (entry != null && entry.version().equals(version)) {
+                hits++;
+                return entry.html();
+            }
+            misses++;
+        }
+
+        Context context = new Context();
+        context.setVariable("product", product);
+        context.setVariable("csrfMarker", CSRF_MARKER);
+        String html = templateEngine.process(TEMPLATE, Set.of(FRAGMENT), context);
+
+        synchronized (this) {
+            entries.put(product.getId(), new Entry(version, html));
+        }
+        return html;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, cache -> cache.count(true))
+                .description("Обращения к кешу карточек товаров, нашедшие карточку")
+                .tags("cache", "product-cards", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, cache -> cache.count(false))
+                .description("Обращения к кешу карточек товаров без карточки или с устаревшей версией")
+                .tags("cache", "product-cards", "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", this, ProductCardCache::size)
+                .description("Количество карточек товаров в кеше")
+                .tag("cache", "product-cards")
+                .register(registry);
+    }
+
+    private synchronized double count(boolean hit) {
+        return hit ? hits : misses;
+    }
+
+    private synchronized double size() {
+        return entries.size();
+    }
+}
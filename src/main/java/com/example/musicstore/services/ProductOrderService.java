@@ -113,21 +113,13 @@ public class ProductOrderService {
     /**
      * Проверка и освобождение истекших бронирований
      * Метод предназначен для вызова по расписанию (например, через @Scheduled)
+     * @return количество освобожденных товаров
      */
     @Transactional
-    public void checkExpiredBookings() {
-        // Поиск всех забронированных товаров с истекшим временем брони
-        productRepository.findAllByStatusAndBookingExpiryBefore(
-                ProductStatus.BOOKED, // Статус "Забронирован"
-                LocalDateTime.now() // Текущее время (время истечения должно быть раньше)
-        ).forEach(product -> {
-            // Для каждого найденного товара с истекшей броней
-            // Возврат статуса "Доступен"
-            product.setStatus(ProductStatus.AVAILABLE);
-            // Сброс информации о бронировании
-            product.setBookedBy(null);
-            product.setBookingExpiry(null);
-        });
+    public int checkExpiredBookings() {
+        // Все забронированные товары с истекшим временем брони возвращаются в статус "Доступен"
+        // и теряют информацию о бронировании одним UPDATE, без загрузки товаров
+        return productRepository.releaseExpiredBookings(LocalDateTime.now());
     }
 }
 //Основная функциональность класса:
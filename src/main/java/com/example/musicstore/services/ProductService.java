@@ -1,6 +1,12 @@
 // Пакет, в котором находится сервис
 package com.example.musicstore.services;
 
+// Импорт события изменения завершенных заказов
+import com.example.musicstore.events.CompletedOrderChangedEvent;
+// Импорт модели статуса последнего заказа товара
+import com.example.musicstore.models.LatestOrderStatus;
+// Импорт денежного типа
+import com.example.musicstore.models.Money;
 // Импорт модели Order
 import com.example.musicstore.models.Order;
 // Импорт модели Product
@@ -14,7 +20,6 @@ import com.example.musicstore.repositories.OrderRepository;
 // Импорт репозитория продуктов
 import com.example.musicstore.repositories.ProductRepository;
 // Импорт репозитория пользователей
-import com.example.musicstore.repositories.UserRepository;
 // Импорт исключения для случая, когда сущность не найдена
 import jakarta.persistence.EntityNotFoundException;
 // Импорт аннотации для транзакционных операций
@@ -23,6 +28,8 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 // Импорт аннотации Lombok для логирования
 import lombok.extern.slf4j.Slf4j;
+// Импорт интерфейса публикации событий Spring
+import org.springframework.context.ApplicationEventPublisher;
 // Импорт аннотации для обозначения сервиса Spring
 import org.springframework.stereotype.Service;
 // Импорт класса для работы с загружаемыми файлами
@@ -30,8 +37,6 @@ import org.springframework.web.multipart.MultipartFile;
 
 // Импорт классов для работы с файловой системой
 import java.io.IOException;
-// Импорт класса для точных денежных расчетов
-import java.math.BigDecimal;
 // Импорт классов для работы с файлами
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -40,8 +45,12 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 // Импорт класса для работы с датой и временем
 import java.time.LocalDateTime;
-// Импорт класса для пустых коллекций
+// Импорт классов для работы с коллекциями
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 // Импорт интерфейса списка
 import java.util.List;
 // Импорт класса для генерации UUID
@@ -58,10 +67,14 @@ public class ProductService {
 
     // Репозиторий для работы с товарами в базе данных
     private final ProductRepository productRepository;
-    // Репозиторий для работы с пользователями в базе данных
-    private final UserRepository userRepository;
+    // Текущий пользователь без повторных запросов в рамках HTTP-запроса
+    private final CurrentUserResolver currentUserResolver;
     // Репозиторий для работы с заказами в базе данных
     private final OrderRepository orderRepository;
+    // Публикация событий (сброс кеша отчетов при изменении завершенных заказов)
+    private final ApplicationEventPublisher eventPublisher;
+    // Списание оплаты корзины в транзакции покупки
+    private final UserService userService;
 
     /**
      * Метод сервиса, который возвращает все товары из базы данных.
@@ -129,27 +142,22 @@ public class ProductService {
     public void deleteProduct(Long id) throws IOException {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Продукт с ID " + id + " не найден"));
-
-        // 1. Сначала удаляем все заказы, связанные с этим товаром
-        List<Order> orders = orderRepository.findByProductId(id);
-        if (!orders.isEmpty()) {
-            orderRepository.deleteAll(orders);
-            log.info("Удалено {} заказов, связанных с товаром ID {}", orders.size(), id);
+        String imagePath = product.getImagePath();
+
+        // 1. Сначала удаляем все заказы, связанные с этим товаром (один DELETE, без загрузки заказов)
+        List<Long> ids = List.of(id);
+        publishCompletedOrdersChanged(ids);
+        int orders = orderRepository.deleteByProductIds(ids);
+        if (orders > 0) {
+            log.info("Удалено {} заказов, связанных с товаром ID {}", orders, id);
         }
 
         // 2. Затем удаляем изображение (если есть)
-        if (product.getImagePath() != null && !product.getImagePath().isEmpty()) {
-            try {
-                Path imagePath = Paths.get("." + product.getImagePath()).normalize().toAbsolutePath();
-                if (Files.exists(imagePath)) {
-                    Files.delete(imagePath);
-                }
-            } catch (IOException e) {
-                throw new IOException("Не удалось удалить изображение продукта: " + product.getImagePath(), e);
-            }
+        if (imagePath != null && !imagePath.isEmpty()) {
+            deleteImage(imagePath);
         }
 
-        // 3. Теперь удаляем сам товар
+        // 3. Теперь удаляем сам товар (контекст очищен запросом выше, товар загружается заново - из кеша второго уровня)
         try {
             productRepository.deleteById(id);
         } catch (Exception e) {
@@ -157,6 +165,41 @@ public class ProductService {
         }
     }
 
+    /**
+     * Массовое удаление товаров администратором: заказы и товары удаляются двумя DELETE
+     * независимо от числа товаров и заказов
+     * @param ids идентификаторы товаров (несуществующие пропускаются)
+     * @return количество удаленных товаров
+     * @throws IOException - если не удалось удалить файл изображения
+     */
+    @Transactional
+    public int deleteProducts(Collection<Long> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<String> imagePaths = productRepository.findImagePaths(ids);
+        publishCompletedOrdersChanged(ids);
+        int orders = orderRepository.deleteByProductIds(ids);
+        int products = productRepository.deleteByIds(ids);
+        for (String imagePath : imagePaths) {
+            deleteImage(imagePath);
+        }
+        log.info("Массовое удаление: товаров {}, заказов {}", products, orders);
+        return products;
+    }
+
+    // Удаление файла изображения товара
+    private void deleteImage(String imagePath) throws IOException {
+        try {
+            Path path = Paths.get("." + imagePath).normalize().toAbsolutePath();
+            if (Files.exists(path)) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new IOException("Не удалось удалить изображение продукта: " + imagePath, e);
+        }
+    }
+
     /**
      * Метод бронирования товара с транзакционной обработкой
      * @param productId - идентификатор товара
@@ -164,8 +207,7 @@ public class ProductService {
      */
     @Transactional
     public void bookProduct(Long productId, String username) {
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден: " + username));
+        User user = currentUserResolver.resolve(username);
 
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Товар не найден: " + productId));
@@ -184,7 +226,7 @@ public class ProductService {
         order.setProduct(product);
         order.setUser(user);
         order.setQuantity(1);
-        order.setTotalAmount(BigDecimal.valueOf(product.getPrice()));
+        order.setTotalAmount(product.getPrice());
         order.setStatus(OrderStatus.CONFIRMED);
         orderRepository.save(order);
 
@@ -202,13 +244,66 @@ public class ProductService {
      */
     @Transactional
     public void purchaseProduct(Long productId, String username) {
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден: " + username));
+        User user = currentUserResolver.resolve(username);
 
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Товар не найден"));
 
-        log.info("Попытка покупки. Текущий статус: {}, bookedBy: {}", product.getStatus(), product.getBookedBy());
+        Order order = purchase(product, user, username);
+        orderRepository.save(order);
+        publishCompletedOrderChanged(order);
+        productRepository.save(product);
+
+        log.debug("Товар продан. Новый статус: {}", product.getStatus());
+    }
+
+    /**
+     * Покупка нескольких товаров (оформление корзины) с оплатой в одной транзакции: все товары или ни одного.
+     * Товары читаются одним запросом, заказы вставляются и товары обновляются пакетами JDBC,
+     * затем сумма по текущим ценам списывается с баланса условным UPDATE (последним: строка
+     * пользователя блокируется до фиксации как можно короче)
+     * @param productIds - идентификаторы товаров
+     * @param username - имя пользователя, который покупает
+     * @throws EntityNotFoundException - если какого-то товара нет
+     * @throws InsufficientFundsException - если на счете не хватает средств
+     * @throws IllegalStateException - если какой-то товар нельзя купить
+     */
+    @Transactional
+    public void purchaseProducts(Collection<Long> productIds, String username) {
+        User user = currentUserResolver.resolve(username);
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+
+        List<Order> orders = new ArrayList<>(productIds.size());
+        Money total = Money.ZERO;
+        for (Long productId : productIds) {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new EntityNotFoundException("Товар не найден: " + productId);
+            }
+            orders.add(purchase(product, user, username));
+            total = total.plus(product.getPrice());
+        }
+        orderRepository.saveAll(orders);
+        orderRepository.flush();
+
+        // Баланс проверяется и списывается атомарно; при нехватке откатываются и записанные заказы
+        if (!userService.deductBalance(username, total.toBigDecimal())) {
+            throw new InsufficientFundsException();
+        }
+        // Все заказы оформлены сейчас: события о них сбрасывают кеш отчетов за одни и те же дни
+        orders.stream()
+                .map(order -> order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : null)
+                .distinct()
+                .forEach(day -> eventPublisher.publishEvent(new CompletedOrderChangedEvent(day)));
+    }
+
+    // Проверки покупки, заказ и новое состояние товара (сохраняет вызывающий метод)
+    private Order purchase(Product product, User user, String username) {
+        log.debug("Попытка покупки. Текущий статус: {}, bookedBy: {}", product.getStatus(), product.getBookedBy());
 
         // Проверка: нельзя покупать собственный товар
         if (product.getAuthor().equals(user.getEmail())) {
@@ -222,24 +317,22 @@ public class ProductService {
             throw new IllegalStateException("Этот товар забронирован другим пользователем");
         }
 
-        // Создаем заказ для покупки
+        // Создаем заказ для покупки (дата заказа - сейчас: событию о заказе дата нужна до вставки)
         Order order = new Order();
         order.setProduct(product);
         order.setUser(user);
         order.setQuantity(1);
-        order.setTotalAmount(BigDecimal.valueOf(product.getPrice()));
+        order.setTotalAmount(product.getPrice());
         order.setStatus(OrderStatus.COMPLETED);
+        order.setOrderDate(LocalDateTime.now());
         order.setCompletedDate(LocalDateTime.now());
-        orderRepository.save(order);
 
         // Обновляем продукт
         product.setStatus(Product.ProductStatus.SOLD);
         product.setBuyer(user);
         product.setBookedBy(null);
         product.setBookingExpiry(null);
-        productRepository.save(product);
-
-        log.info("Товар продан. Новый статус: {}", product.getStatus());
+        return order;
     }
 
     /**
@@ -249,14 +342,14 @@ public class ProductService {
      */
     @Transactional
     public void cancelBooking(Long productId, String username) {
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден: " + username));
+        User user = currentUserResolver.resolve(username);
 
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Товар не найден"));
 
         // Проверка прав: только тот кто бронировал, админ или владелец товара может отменить
-        boolean canCancel = user.equals(product.getBookedBy()) ||
+        // Сравнение по id: пользователь из CurrentUserResolver - другой экземпляр, чем bookedBy товара
+        boolean canCancel = (product.getBookedBy() != null && user.getId().equals(product.getBookedBy().getId())) ||
                 user.getRoles().stream().anyMatch(role -> role.name().equals("ROLE_ADMIN")) ||
                 product.getAuthor().equals(user.getEmail());
 
@@ -268,18 +361,57 @@ public class ProductService {
             throw new IllegalStateException("Товар не забронирован");
         }
 
-        // Находим и отменяем связанный заказ
-        List<Order> orders = orderRepository.findByProductId(productId);
-        orders.forEach(order -> {
-            order.setStatus(OrderStatus.CANCELLED);
-            orderRepository.save(order);
-        });
-
-        // Обновляем продукт
+        // Обновляем продукт (через сущность: запись товара в кеше второго уровня обновляется, а не сбрасывается)
         product.setStatus(Product.ProductStatus.AVAILABLE);
         product.setBookedBy(null);
         product.setBookingExpiry(null);
         productRepository.save(product);
+
+        // Отменяем связанные заказы одним UPDATE; изменения товара записываются в базу перед ним
+        List<Long> ids = List.of(productId);
+        publishCompletedOrdersChanged(ids);
+        orderRepository.cancelByProductIds(ids);
+    }
+
+    /**
+     * Массовая отмена броней администратором: товары и их заказы обновляются постоянным числом запросов
+     * @param productIds идентификаторы товаров (не забронированные пропускаются)
+     * @return количество товаров, с которых снята бронь
+     */
+    @Transactional
+    public int cancelBookings(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> booked = productRepository.findBookedIds(productIds);
+        if (booked.isEmpty()) {
+            return 0;
+        }
+        publishCompletedOrdersChanged(booked);
+        int orders = orderRepository.cancelByProductIds(booked);
+        int products = productRepository.releaseBookings(booked);
+        log.info("Массовая отмена броней: товаров {}, заказов {}", products, orders);
+        return products;
+    }
+
+    /**
+     * Публикация события об изменении завершенных заказов (обрабатывается после фиксации транзакции)
+     * @param order добавленный, отмененный или удаленный завершенный заказ
+     */
+    private void publishCompletedOrderChanged(Order order) {
+        eventPublisher.publishEvent(new CompletedOrderChangedEvent(
+                order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : null));
+    }
+
+    /**
+     * То же для завершенных заказов товаров перед их массовой отменой или удалением (одно событие на день)
+     * @param productIds идентификаторы товаров
+     */
+    private void publishCompletedOrdersChanged(Collection<Long> productIds) {
+        orderRepository.findCompletedOrderDates(productIds).stream()
+                .map(date -> date != null ? date.toLocalDate() : null)
+                .distinct()
+                .forEach(day -> eventPublisher.publishEvent(new CompletedOrderChangedEvent(day)));
     }
 
     /**
@@ -291,22 +423,48 @@ public class ProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found"));
 
-        List<Order> orders = orderRepository.findByProductId(productId);
-
-        if (!orders.isEmpty()) {
-            // Берем статус из последнего заказа
-            Order latestOrder = orders.get(orders.size() - 1);
-
-            // Маппинг статусов Order -> Product
-            Product.ProductStatus newProductStatus = mapOrderStatusToProductStatus(latestOrder.getStatus());
+        // Берем статус из последнего заказа (по дате, затем по id) одним запросом, без загрузки всех заказов товара
+        orderRepository.findLatestStatusByProductId(productId)
+                .ifPresent(status -> applyOrderStatus(product, status));
+    }
 
-            if (product.getStatus() != newProductStatus) {
-                product.setStatus(newProductStatus);
-                productRepository.save(product);
-                log.info("Синхронизирован статус продукта {}: {} -> {}",
-                        productId, product.getStatus(), newProductStatus);
+    /**
+     * Синхронизация статусов многих товаров: статусы последних заказов читаются одним запросом
+     * @param productIds идентификаторы товаров (товары без заказов не меняются)
+     * @return количество товаров, у которых изменился статус
+     */
+    @Transactional
+    public int syncProductStatusesFromOrders(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, OrderStatus> latest = new HashMap<>();
+        for (LatestOrderStatus row : orderRepository.findLatestStatuses(productIds)) {
+            latest.put(row.getProductId(), row.getStatus());
+        }
+        if (latest.isEmpty()) {
+            return 0;
+        }
+        int changed = 0;
+        for (Product product : productRepository.findAllById(latest.keySet())) {
+            if (applyOrderStatus(product, latest.get(product.getId()))) {
+                changed++;
             }
         }
+        return changed;
+    }
+
+    // Перенос статуса заказа на товар; true, если статус товара изменился
+    private boolean applyOrderStatus(Product product, OrderStatus orderStatus) {
+        // Маппинг статусов Order -> Product
+        Product.ProductStatus newProductStatus = mapOrderStatusToProductStatus(orderStatus);
+        if (product.getStatus() == newProductStatus) {
+            return false;
+        }
+        log.info("Синхронизирован статус продукта {}: {} -> {}", product.getId(), product.getStatus(), newProductStatus);
+        product.setStatus(newProductStatus);
+        productRepository.save(product);
+        return true;
     }
 
     /**
@@ -339,7 +497,7 @@ public class ProductService {
             String searchTerm = title.trim().toLowerCase();
             List<Product> products = productRepository.findByNameContainingIgnoreCase(searchTerm);
 
-            log.info("Found {} products containing '{}'", products.size(), searchTerm);
+            log.debug("Found {} products containing '{}'", products.size(), searchTerm);
             return products;
 
         } catch (Exception e) {
@@ -363,7 +521,7 @@ public class ProductService {
             }
 
             List<Product> products = productRepository.findByName(title.trim());
-            log.info("Found {} products with name '{}'", products.size(), title);
+            log.debug("Found {} products with name '{}'", products.size(), title);
             return products;
 
         } catch (Exception e) {
@@ -0,0 +1,210 @@
+package com.example.musicstore.services;
+
+import com.example.musicstore.models.AuthorStats;
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.OrderReportRow;
+import com.example.musicstore.models.RevenueByPeriod;
+import com.example.musicstore.models.SalesByDay;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Агрегатор заказов для отчетов.
+ * За один проход по проекциям заказов накапливает количество заказов и выручку (в копейках)
+ * в примитивных массивах long: по дням - по индексу смещения от начала периода,
+ * по авторам - по целочисленному id, который выдается автору при первой встрече.
+ * Общее количество проданных товаров считается там же.
+ * Не является Spring-компонентом: создается на каждый отчет и не потокобезопасен.
+ */
+public final class ReportAggregator {
+
+    // Максимальная длина периода отчета в днях (защита от выделения огромных массивов)
+    static final int MAX_DAYS = 366 * 100;
+
+    // Начальная емкость массивов по авторам
+    private static final int INITIAL_AUTHORS = 64;
+
+    // Первый день периода (epoch day)
+    private final long startEpochDay;
+
+    // Показатели по дням: количество заказов и выручка в копейках
+    private final long[] dayCount;
+    private final long[] dayRevenue;
+
+    // Выдача id авторам и обратное отображение id -> имя
+    private final Map<String, Integer> authorIds = new HashMap<>();
+    private final List<String> authorNames = new ArrayList<>();
+
+    // Показатели по авторам: количество продаж и выручка в копейках
+    private long[] authorCount = new long[INITIAL_AUTHORS];
+    private long[] authorRevenue = new long[INITIAL_AUTHORS];
+
+    // Итоги по всем заказам
+    private long totalOrders;
+    private long totalRevenueCents;
+    private long totalQuantity;
+
+    // Суммарная выручка заказов с известным автором (база для доли рынка)
+    private long authorsRevenueCents;
+
+    /**
+     * @param startDay первый день периода
+     * @param endDay последний день периода (включительно)
+     * @throws IllegalArgumentException если период пустой или слишком длинный
+     */
+    public ReportAggregator(LocalDate startDay, LocalDate endDay) {
+        long days = ChronoUnit.DAYS.between(startDay, endDay) + 1;
+        if (days <= 0 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Некорректный период отчета: " + startDay + " - " + endDay);
+        }
+        this.startEpochDay = startDay.toEpochDay();
+        this.dayCount = new long[(int) days];
+        this.dayRevenue = new long[(int) days];
+    }
+
+    /**
+     * Учет заказа из проекции
+     * @param row проекция заказа
+     */
+    public void add(OrderReportRow row) {
+        add(row.getOrderDate(),
+                row.getTotalAmount() != null ? row.getTotalAmount().getMinorUnits() : 0L,
+                row.getQuantity() != null ? row.getQuantity() : 1,
+                row.getAuthor());
+    }
+
+    /**
+     * Учет заказа
+     * @param orderDate дата и время заказа
+     * @param amountCents сумма заказа в копейках
+     * @param quantity количество товара
+     * @param author автор товара (null - заказ не учитывается в статистике авторов)
+     * @throws IllegalArgumentException если заказ вне периода отчета
+     * @throws ArithmeticException при переполнении
+     */
+    public void add(LocalDateTime orderDate, long amountCents, int quantity, String author) {
+        long offset = orderDate.toLocalDate().toEpochDay() - startEpochDay;
+        if (offset < 0 || offset >= dayCount.length) {
+            throw new IllegalArgumentException("Заказ вне периода отчета: " + orderDate);
+        }
+        int day = (int) offset;
+        dayCount[day]++;
+        dayRevenue[day] = Math.addExact(dayRevenue[day], amountCents);
+
+        totalOrders++;
+        totalRevenueCents = Math.addExact(totalRevenueCents, amountCents);
+        totalQuantity += quantity;
+
+        if (author != null) {
+            int id = authorId(author);
+            authorCount[id]++;
+            authorRevenue[id] = Math.addExact(authorRevenue[id], amountCents);
+            authorsRevenueCents = Math.addExact(authorsRevenueCents, amountCents);
+        }
+    }
+
+    /**
+     * Выручка по дням (только дни с заказами, по возрастанию даты)
+     */
+    public List<RevenueByPeriod> revenueByPeriod() {
+        List<RevenueByPeriod> result = new ArrayList<>();
+        for (int day = 0; day < dayCount.length; day++) {
+            long count = dayCount[day];
+            if (count == 0) {
+                continue;
+            }
+            RevenueByPeriod period = new RevenueByPeriod();
+            period.setPeriod(LocalDate.ofEpochDay(startEpochDay + day)); // Дата периода
+            period.setRevenue(Money.ofMinor(dayRevenue[day])); // Общая выручка
+            period.setSalesCount(count); // Количество продаж
+            period.setAverageOrderValue(Money.ofMinor(Money.divideHalfUp(dayRevenue[day], count))); // Средний чек
+            result.add(period);
+        }
+        return result;
+    }
+
+    /**
+     * Продажи по дням (только дни с заказами, по возрастанию даты)
+     */
+    public List<SalesByDay> salesByDay() {
+        List<SalesByDay> result = new ArrayList<>();
+        for (int day = 0; day < dayCount.length; day++) {
+            if (dayCount[day] == 0) {
+                continue;
+            }
+            SalesByDay salesByDay = new SalesByDay();
+            salesByDay.setDate(LocalDate.ofEpochDay(startEpochDay + day)); // Дата
+            salesByDay.setSalesCount(dayCount[day]); // Количество продаж
+            salesByDay.setRevenue(Money.ofMinor(dayRevenue[day])); // Выручка
+            result.add(salesByDay);
+        }
+        return result;
+    }
+
+    /**
+     * Статистика по авторам с долей рынка (по убыванию выручки, при равенстве - по имени автора)
+     */
+    public List<AuthorStats> authorStats() {
+        List<AuthorStats> result = new ArrayList<>(authorNames.size());
+        for (int id = 0; id < authorNames.size(); id++) {
+            AuthorStats stats = new AuthorStats();
+            stats.setAuthor(authorNames.get(id)); // Имя автора
+            stats.setSalesCount(authorCount[id]); // Количество продаж
+            stats.setTotalRevenue(Money.ofMinor(authorRevenue[id])); // Общая выручка
+            // Доля рынка в процентах с точностью до сотых (0.0, если выручки нет)
+            stats.setMarketShare(authorsRevenueCents > 0
+                    ? Money.divideHalfUp(Math.multiplyExact(authorRevenue[id], 10_000L), authorsRevenueCents) / 100.0
+                    : 0.0);
+            result.add(stats);
+        }
+        result.sort((a1, a2) -> {
+            int byRevenue = a2.getTotalRevenue().compareTo(a1.getTotalRevenue());
+            return byRevenue != 0 ? byRevenue : a1.getAuthor().compareTo(a2.getAuthor());
+        });
+        return result;
+    }
+
+    /**
+     * @return количество учтенных заказов
+     */
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+
+    /**
+     * @return выручка по всем учтенным заказам
+     */
+    public Money getTotalRevenue() {
+        return Money.ofMinor(totalRevenueCents);
+    }
+
+    /**
+     * @return количество проданных товаров (заказ без количества считается как 1)
+     */
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    // Выдача id автору; массивы по авторам растут удвоением
+    private int authorId(String author) {
+        Integer id = authorIds.get(author);
+        if (id != null) {
+            return id;
+        }
+        int newId = authorNames.size();
+        if (newId == authorCount.length) {
+            authorCount = Arrays.copyOf(authorCount, newId * 2);
+            authorRevenue = Arrays.copyOf(authorRevenue, newId * 2);
+        }
+        authorIds.put(author, newId);
+        authorNames.add(author);
+        return newId;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.musicstore.services;
+
+import com.example.musicstore.events.CompletedOrderChangedEvent;
+import com.example.musicstore.models.ReportData;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кеш данных отчетов по ключу (начало периода, конец периода, фильтр по автору).
+ * Закрытые периоды (целиком в прошлом) хранятся долго, периоды, включающие сегодняшний день, - недолго.
+ * При изменении завершенных заказов удаляются все записи, в период которых попадает дата заказа.
+ * Размер ограничен: при переполнении вытесняется запись, к которой дольше всего не обращались (LRU).
+ *
+ * Закешированные ReportData общие для всех запросов и не должны изменяться вызывающим кодом.
+ * Попадания и промахи выдаются в метриках cache.gets{cache=reports} (доля попаданий считается в Prometheus).
+ */
+@Slf4j
+@Component
+public class ReportCache implements MeterBinder {
+
+    /**
+     * Ключ кеша
+     */
+    public record Key(LocalDate startDate, LocalDate endDate, String authorFilter) {
+
+        // Период закрыт, если полностью в прошлом
+        boolean isClosed() {
+            return endDate.isBefore(LocalDate.now());
+        }
+
+        // Попадает ли дата в период
+        boolean contains(LocalDate day) {
+            return !day.isBefore(startDate) && !day.isAfter(endDate);
+        }
+    }
+
+    // Запись кеша со временем истечения
+    private record Entry(ReportData data, long expiresAtMillis) {
+    }
+
+    // Время жизни закрытых и открытых периодов
+    private final Duration closedTtl;
+    private final Duration openTtl;
+
+    // LRU-мапа в порядке обращения (доступ под блокировкой this)
+    private final LinkedHashMap<Key, Entry> entries;
+
+    // Версия данных: увеличивается при каждом сбросе, чтобы не сохранить отчет, посчитанный до изменения
+    private long version;
+
+    // Счетчики обращений для метрик
+    private long hits;
+    private long misses;
+
+    public ReportCache(@Value("${reports.cache.max-entries:200}") int maxEntries,
+                       @Value("${reports.cache.closed-ttl:24h}") Duration closedTtl,
+                       @Value("${reports.cache.open-ttl:10m}") Duration openTtl) {
+        this.closedTtl = closedTtl;
+        this.openTtl = openTtl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Текущая версия данных; запоминается перед построением отчета и передается в put
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Получение отчета из кеша
+     * @param key ключ
+     * @return отчет или null, если его нет или срок хранения истек
+     */
+    public synchronized ReportData get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+            entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.data();
+    }
+
+    /**
+     * Сохранение отчета, если с момента начала его построения данные не менялись
+     * @param key ключ
+     * @param data отчет
+     * @param versionAtStart версия данных, полученная через version() до построения отчета
+     */
+    public synchronized void put(Key key, ReportData data, long versionAtStart) {
+        if (versionAtStart != version) {
+            return;
+        }
+        Duration ttl = key.isClosed() ? closedTtl : openTtl;
+        entries.put(key, new Entry(data, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, cache -> cache.count(true))
+                .description("Обращения к кешу отчетов, нашедшие запись")
+                .tags("cache", "reports", "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, cache -> cache.count(false))
+                .description("Обращения к кешу отчетов без записи")
+                .tags("cache", "reports", "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", this, ReportCache::size)
+                .description("Количество отчетов в кеше")
+                .tag("cache", "reports")
+                .register(registry);
+    }
+
+    private synchronized double count(boolean hit) {
+        return hit ? hits : misses;
+    }
+
+    private synchronized double size() {
+        return entries.size();
+    }
+
+    /**
+     * Сброс отчетов после фиксации транзакции, изменившей завершенные заказы
+     * @param event событие с датой заказа
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCompletedOrderChanged(CompletedOrderChangedEvent event) {
+        version++;
+        int before = entries.size();
+        if (event.orderDay() == null) {
+            entries.clear();
+        } else {
+            entries.keySet().removeIf(key -> key.contains(event.orderDay()));
+        }
+        log.debug("Сброшено {} отчетов из кеша (дата заказа: {})", before - entries.size(), event.orderDay());
+    }
+}
@@ -1,24 +1,24 @@
 package com.example.musicstore.services;
 
+import com.example.musicstore.configurations.ReportExecutor;
 import com.example.musicstore.models.*;
 import com.example.musicstore.models.enums.OrderStatus;
 import com.example.musicstore.repositories.OrderRepository;
 import com.example.musicstore.repositories.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 // Сервис для генерации отчетов и статистики
 @Service // Помечаем класс как Spring Service компонент
+@Lazy
 @RequiredArgsConstructor // Lombok: автоматически создает конструктор с final полями
 public class ReportService {
 
@@ -26,46 +26,47 @@ public class ReportService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final OrderService orderService;
+    // Пул потоков для параллельного построения частей отчета
+    private final ReportExecutor reportExecutor;
+    // Кеш данных отчетов по периоду и фильтру
+    private final ReportCache reportCache;
 
     // Приватный метод для генерации отчета о выручке
-    private RevenueReport generateRevenueReport(LocalDateTime start, LocalDateTime end) {
+    private RevenueReport generateRevenueReport(ReportAggregator aggregator) {
         RevenueReport report = new RevenueReport(); // Создаем объект отчета о выручке
 
-        // Заменяем старый метод на новый подход - рассчитываем выручку по периодам
-        List<RevenueByPeriod> revenueData = calculateRevenueByPeriod(start, end);
+        // Выручка по периодам из общего прохода по заказам
+        List<RevenueByPeriod> revenueData = aggregator.revenueByPeriod();
         report.setByPeriod(revenueData); // Устанавливаем данные по периодам в отчет
 
-        // Расчет средней суммы чека
-        BigDecimal totalRevenue = revenueData.stream() // Создаем поток из данных о выручке
-                .map(RevenueByPeriod::getRevenue) // Преобразуем каждый период в его выручку
-                .reduce(BigDecimal.ZERO, BigDecimal::add); // Суммируем всю выручку
-
-        Long totalSales = revenueData.stream() // Создаем поток из данных о выручке
-                .mapToLong(RevenueByPeriod::getSalesCount) // Преобразуем каждый период в количество продаж
-                .sum(); // Суммируем общее количество продаж
-
         // Если есть продажи, рассчитываем средний чек
-        if (totalSales > 0) {
-            report.setAverageCheck(totalRevenue.divide(BigDecimal.valueOf(totalSales), 2, RoundingMode.HALF_UP));
+        if (aggregator.getTotalOrders() > 0) {
+            report.setAverageCheck(aggregator.getTotalRevenue().dividedBy(aggregator.getTotalOrders()));
         }
 
-        // Находим лучший день по выручке
-        revenueData.stream() // Создаем поток из данных о выручке
-                .max(Comparator.comparing(RevenueByPeriod::getRevenue)) // Находим период с максимальной выручкой
-                .ifPresent(bestDay -> { // Если найден, устанавливаем данные о лучшем дне
-                    report.setBestDay(bestDay.getPeriod());
-                    report.setBestDayRevenue(bestDay.getRevenue());
-                });
+        // Находим лучший день по выручке (при равной выручке остается более ранний день)
+        RevenueByPeriod bestDay = null;
+        for (RevenueByPeriod period : revenueData) {
+            if (bestDay == null || period.getRevenue().compareTo(bestDay.getRevenue()) > 0) {
+                bestDay = period;
+            }
+        }
+
+        // Устанавливаем данные о лучшем дне
+        if (bestDay != null) {
+            report.setBestDay(bestDay.getPeriod());
+            report.setBestDayRevenue(bestDay.getRevenue());
+        }
 
         return report; // Возвращаем сформированный отчет
     }
 
     // Приватный метод для генерации отчета по авторам
-    private AuthorsReport generateAuthorsReport(LocalDateTime start, LocalDateTime end, String authorFilter) {
+    private AuthorsReport generateAuthorsReport(ReportAggregator aggregator, String authorFilter) {
         AuthorsReport report = new AuthorsReport(); // Создаем объект отчета по авторам
 
-        // Заменяем старый метод на ручной расчет - получаем статистику по авторам
-        List<AuthorStats> authorStats = calculateAuthorStatsManually(start, end);
+        // Статистика по авторам из общего прохода по заказам
+        List<AuthorStats> authorStats = aggregator.authorStats();
 
         // Если указан фильтр по автору, применяем его
         if (authorFilter != null && !authorFilter.isEmpty()) {
@@ -81,11 +82,11 @@ public class ReportService {
     }
 
     // Приватный метод для генерации отчета о продажах
-    private SalesReport generateSalesReport(LocalDateTime start, LocalDateTime end) {
+    private SalesReport generateSalesReport(ReportAggregator aggregator) {
         SalesReport report = new SalesReport(); // Создаем объект отчета о продажах
 
-        // Заменяем старые методы на новые расчеты
-        report.setByDay(calculateSalesByDay(start, end)); // Устанавливаем продажи по дням
+        // Продажи по дням из общего прохода по заказам
+        report.setByDay(aggregator.salesByDay()); // Устанавливаем продажи по дням
 
         return report; // Возвращаем сформированный отчет
     }
@@ -93,146 +94,15 @@ public class ReportService {
     // ========== НОВЫЕ ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ==========
 
     /**
-     * Ручной расчет выручки по периодам
-     */
-    private List<RevenueByPeriod> calculateRevenueByPeriod(LocalDateTime start, LocalDateTime end) {
-        // Получаем завершенные заказы за указанный период
-        List<Order> completedOrders = orderRepository.findByStatusAndOrderDateBetween(
-                OrderStatus.COMPLETED, start, end
-        );
-
-        // Группируем заказы по дате и рассчитываем статистику для каждого периода
-        return completedOrders.stream() // Создаем поток из завершенных заказов
-                .collect(Collectors.groupingBy( // Группируем заказы по дате
-                        order -> order.getOrderDate().toLocalDate(), // Ключ группировки - дата заказа
-                        Collectors.collectingAndThen(Collectors.toList(), orders -> { // Для каждой группы заказов
-                            // Рассчитываем общую выручку для периода
-                            BigDecimal revenue = orders.stream() // Создаем поток из заказов периода
-                                    .map(Order::getTotalAmount) // Получаем сумму каждого заказа
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add); // Суммируем все заказы
-
-                            long count = orders.size(); // Количество заказов в периоде
-
-                            // Рассчитываем средний чек для периода
-                            BigDecimal average = count > 0 ?
-                                    revenue.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) :
-                                    BigDecimal.ZERO;
-
-                            // Создаем объект для хранения данных периода
-                            RevenueByPeriod period = new RevenueByPeriod();
-                            period.setPeriod(orders.get(0).getOrderDate().toLocalDate()); // Дата периода
-                            period.setRevenue(revenue); // Общая выручка
-                            period.setSalesCount(count); // Количество продаж
-                            period.setAverageOrderValue(average); // Средний чек
-                            return period;
-                        })
-                ))
-                .values().stream() // Получаем поток значений из мапы
-                .sorted(Comparator.comparing(RevenueByPeriod::getPeriod)) // Сортируем по дате
-                .collect(Collectors.toList()); // Собираем в список
-    }
-
-    /**
-     * Ручной расчет статистики по авторам
-     */
-    private List<AuthorStats> calculateAuthorStatsManually(LocalDateTime start, LocalDateTime end) {
-        // Получаем завершенные заказы за указанный период
-        List<Order> completedOrders = orderRepository.findByStatusAndOrderDateBetween(
-                OrderStatus.COMPLETED, start, end
-        );
-
-        // Группируем заказы по автору продукта и рассчитываем статистику
-        var authorStatsMap = completedOrders.stream() // Создаем поток из завершенных заказов
-                .filter(order -> order.getProduct() != null && order.getProduct().getAuthor() != null) // Фильтруем заказы с указанным автором
-                .collect(Collectors.groupingBy( // Группируем заказы по автору
-                        order -> order.getProduct().getAuthor(), // Ключ группировки - автор
-                        Collectors.collectingAndThen(Collectors.toList(), orders -> { // Для каждой группы заказов автора
-                            long salesCount = orders.size(); // Количество продаж автора
-
-                            // Общая выручка от продаж автора
-                            BigDecimal totalRevenue = orders.stream() // Создаем поток из заказов автора
-                                    .map(Order::getTotalAmount) // Получаем сумму каждого заказа
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add); // Суммируем все заказы
-
-                            // Создаем объект статистики автора
-                            AuthorStats stats = new AuthorStats();
-                            stats.setAuthor(orders.get(0).getProduct().getAuthor()); // Имя автора
-                            stats.setSalesCount(salesCount); // Количество продаж
-                            stats.setTotalRevenue(totalRevenue); // Общая выручка
-                            stats.setMarketShare(0.0); // Временное значение, рассчитаем ниже
-                            return stats;
-                        })
-                ));
-
-        // Рассчитываем общую выручку для всех авторов (для расчета долей рынка)
-        BigDecimal totalRevenue = authorStatsMap.values().stream() // Создаем поток из статистики авторов
-                .map(AuthorStats::getTotalRevenue) // Получаем выручку каждого автора
-                .reduce(BigDecimal.ZERO, BigDecimal::add); // Суммируем всю выручку
-
-        // Рассчитываем доли рынка для каждого автора
-        authorStatsMap.values().forEach(stats -> { // Для каждой статистики автора
-            if (totalRevenue.compareTo(BigDecimal.ZERO) > 0) { // Если общая выручка положительная
-                // Рассчитываем долю рынка в процентах
-                double marketShare = stats.getTotalRevenue() // Выручка автора
-                        .multiply(BigDecimal.valueOf(100)) // Умножаем на 100 для процентов
-                        .divide(totalRevenue, 2, RoundingMode.HALF_UP) // Делим на общую выручку
-                        .doubleValue(); // Преобразуем в double
-                stats.setMarketShare(marketShare); // Устанавливаем долю рынка
-            }
-        });
-
-        return authorStatsMap.values().stream() // Создаем поток из статистики авторов
-                .sorted((a1, a2) -> a2.getTotalRevenue().compareTo(a1.getTotalRevenue())) // Сортируем по убыванию выручки
-                .collect(Collectors.toList()); // Собираем в список
-    }
-
-    /**
-     * Ручной расчет продаж по дням
-     */
-    private List<SalesByDay> calculateSalesByDay(LocalDateTime start, LocalDateTime end) {
-        // Получаем завершенные заказы за указанный период
-        List<Order> completedOrders = orderRepository.findByStatusAndOrderDateBetween(
-                OrderStatus.COMPLETED, start, end
-        );
-
-        // Группируем заказы по дате и рассчитываем статистику для каждого дня
-        return completedOrders.stream() // Создаем поток из завершенных заказов
-                .collect(Collectors.groupingBy( // Группируем заказы по дате
-                        order -> order.getOrderDate().toLocalDate(), // Ключ группировки - дата
-                        Collectors.collectingAndThen(Collectors.toList(), orders -> { // Для каждой группы заказов дня
-                            long salesCount = orders.size(); // Количество продаж за день
-
-                            // Общая выручка за день
-                            BigDecimal revenue = orders.stream() // Создаем поток из заказов дня
-                                    .map(Order::getTotalAmount) // Получаем сумму каждого заказа
-                                    .reduce(BigDecimal.ZERO, BigDecimal::add); // Суммируем все заказы
-
-                            // Создаем объект для хранения данных дня
-                            SalesByDay salesByDay = new SalesByDay();
-                            salesByDay.setDate(orders.get(0).getOrderDate().toLocalDate()); // Дата
-                            salesByDay.setSalesCount(salesCount); // Количество продаж
-                            salesByDay.setRevenue(revenue); // Выручка
-                            return salesByDay;
-                        })
-                ))
-                .values().stream() // Получаем поток значений из мапы
-                .sorted(Comparator.comparing(SalesByDay::getDate)) // Сортируем по дате
-                .collect(Collectors.toList()); // Собираем в список
-    }
-
-    /**
-     * Подсчет проданных товаров за период
+     * Агрегация завершенных заказов за период: один запрос проекций и один проход по ним
      */
-    private Long countSoldProducts(LocalDateTime start, LocalDateTime end) {
-        // Получаем завершенные заказы за указанный период
-        List<Order> completedOrders = orderRepository.findByStatusAndOrderDateBetween(
-                OrderStatus.COMPLETED, start, end
-        );
-
-        // Суммируем quantity всех заказов (если quantity не указан, считаем как 1)
-        return completedOrders.stream() // Создаем поток из завершенных заказов
-                .mapToLong(order -> order.getQuantity() != null ? order.getQuantity() : 1) // Получаем quantity или 1
-                .sum(); // Суммируем количество товаров
+    private ReportAggregator aggregateCompletedOrders(LocalDate startDate, LocalDate endDate,
+                                                      LocalDateTime start, LocalDateTime end) {
+        ReportAggregator aggregator = new ReportAggregator(startDate, endDate);
+        for (OrderReportRow row : orderRepository.findReportRows(OrderStatus.COMPLETED, start, end)) {
+            aggregator.add(row);
+        }
+        return aggregator;
     }
 
     // Публичный метод для получения статистики дашборда
@@ -261,36 +131,83 @@ public class ReportService {
         return stats; // Возвращаем статистику
     }
 
-    // Метод для генерации полного отчета с транзакционной поддержкой (только чтение)
-    @Transactional(readOnly = true) // Аннотация для транзакции только для чтения
+    // Метод для генерации полного отчета
+    // Данные по заказам за период берутся из кеша; при промахе независимые запросы
+    // (заказы за период и статистика товаров) выполняются параллельно,
+    // каждый в своей транзакции только для чтения; время ответа - максимум из них, а не сумма
     public ReportData generateReport(LocalDate startDate, LocalDate endDate, String authorFilter) {
+        ReportCache.Key key = new ReportCache.Key(startDate, endDate,
+                authorFilter == null || authorFilter.isEmpty() ? null : authorFilter);
+        long version = reportCache.version();
+        ReportData cached = reportCache.get(key);
+
+        // Статистика товаров от периода не зависит и в кеш не попадает (меняется при бронировании и продаже)
+        CompletableFuture<DashboardStats> products = reportExecutor.supplyReadOnly(this::generateProductStats);
+        if (cached != null) {
+            reportExecutor.awaitAll(products);
+            return withProductStats(cached, products.join());
+        }
+
         // Преобразуем LocalDate в LocalDateTime (начало дня и конец дня)
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.atTime(LocalTime.MAX);
 
+        // Все разделы отчета строятся из одного прохода по завершенным заказам
+        CompletableFuture<ReportAggregator> orders = reportExecutor.supplyReadOnly(
+                () -> aggregateCompletedOrders(startDate, endDate, start, end));
+        reportExecutor.awaitAll(orders, products);
+
+        ReportAggregator aggregator = orders.join();
+
         ReportData reportData = new ReportData(); // Создаем объект данных отчета
 
         // Заполняем отчет различными видами статистики
-        reportData.setDashboard(generateDashboardStats(start, end)); // Статистика дашборда
-        reportData.setRevenue(generateRevenueReport(start, end)); // Отчет о выручке
-        reportData.setAuthors(generateAuthorsReport(start, end, authorFilter)); // Отчет по авторам
-        reportData.setSales(generateSalesReport(start, end)); // Отчет о продажах
+        reportData.setDashboard(generateDashboardStats(aggregator)); // Статистика дашборда за период
+        reportData.setRevenue(generateRevenueReport(aggregator)); // Отчет о выручке
+        reportData.setAuthors(generateAuthorsReport(aggregator, key.authorFilter())); // Отчет по авторам
+        reportData.setSales(generateSalesReport(aggregator)); // Отчет о продажах
 
-        return reportData; // Возвращаем полный отчет
+        // В кеш попадает только часть, зависящая от заказов за период
+        reportCache.put(key, reportData, version);
+
+        return withProductStats(reportData, products.join()); // Возвращаем полный отчет
     }
 
     // Приватный метод для генерации статистики дашборда за период
-    private DashboardStats generateDashboardStats(LocalDateTime start, LocalDateTime end) {
+    private DashboardStats generateDashboardStats(ReportAggregator aggregator) {
         DashboardStats stats = new DashboardStats(); // Создаем объект статистики
 
         // Устанавливаем общую выручку за период
-        stats.setTotalRevenue(orderRepository.getTotalRevenueByPeriod(start, end));
+        stats.setTotalRevenue(aggregator.getTotalRevenue());
         // Устанавливаем общее количество продаж за период
-        stats.setTotalSales(orderRepository.countCompletedOrdersByPeriod(start, end));
+        stats.setTotalSales(aggregator.getTotalOrders());
+        // Устанавливаем общее количество проданных товаров за период
+        stats.setTotalProducts(aggregator.getTotalQuantity());
+
+        return stats; // Возвращаем статистику
+    }
+
+    // Сборка ответа: данные за период (возможно, из кеша, не изменяются) + свежая статистика товаров
+    private ReportData withProductStats(ReportData periodData, DashboardStats productStats) {
+        DashboardStats period = periodData.getDashboard();
+        productStats.setTotalRevenue(period.getTotalRevenue());
+        productStats.setTotalSales(period.getTotalSales());
+        productStats.setTotalProducts(period.getTotalProducts());
+
+        ReportData reportData = new ReportData();
+        reportData.setDashboard(productStats);
+        reportData.setRevenue(periodData.getRevenue());
+        reportData.setAuthors(periodData.getAuthors());
+        reportData.setSales(periodData.getSales());
+        return reportData;
+    }
+
+    // Приватный метод для получения статистики товаров (не зависит от периода отчета)
+    private DashboardStats generateProductStats() {
+        DashboardStats stats = new DashboardStats(); // Создаем объект статистики
+
         // Устанавливаем общее количество уникальных авторов
         stats.setTotalAuthors((long) productRepository.findAllDistinctAuthors().size());
-        // Устанавливаем общее количество проданных товаров за период
-        stats.setTotalProducts(countSoldProducts(start, end));
 
         // Добавляем статистику по статусам продуктов
         stats.setAvailableProducts(productRepository.countByStatus(Product.ProductStatus.AVAILABLE)); // Доступные
@@ -0,0 +1,288 @@
+package com.example.musicstore.services;
+
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.enums.OrderStatus;
+import com.example.musicstore.models.enums.Role;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор синтетических данных для нагрузочного тестирования (профиль Spring "seed").
+ * Пишет пользователей, товары и заказы пакетными INSERT через JDBC, минуя JPA:
+ * миллионы строк через saveAll заняли бы часы. Распределения настраиваются свойствами seed.*
+ * (см. application-seed.properties), генерация детерминирована (seed.random-seed).
+ *
+ * Запуск: java -jar target/musicstore-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=seed
+ */
+@Slf4j
+@Service
+@Profile("seed")
+public class SeedDataGenerator implements ApplicationRunner {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (email, password, balance, active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ROLE = "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (name, description, price, author, status) VALUES (?, ?, ?, ?, ?)";
+    // Заказы вставляются с auto_increment id: генератор id заказов Hibernate (id_generators) сдвигается за них
+    private static final String UPDATE_ORDER_IDS =
+            "UPDATE id_generators SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM orders) WHERE sequence_name = 'orders'";
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (product_id, user_id, quantity, total_amount, status, order_date, completed_date) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Слова в названиях товаров (по ним ищет сценарий search в load-tests/k6/scenarios.js)
+    private static final String[] WORDS = {"Guitar", "Bass", "Piano", "Synth", "Drums", "Violin", "Amp", "Ukulele"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Объемы данных
+    @Value("${seed.users:100000}")
+    private int userCount;
+    @Value("${seed.products:200000}")
+    private int productCount;
+    @Value("${seed.orders:2000000}")
+    private int orderCount;
+    @Value("${seed.batch-size:5000}")
+    private int batchSize;
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    // Пользователи: user<N>@<домен> и admin@<домен>, общий пароль и стартовый баланс
+    @Value("${seed.email-domain:seed.example.com}")
+    private String emailDomain;
+    @Value("${seed.password:password}")
+    private String password;
+    @Value("${seed.user-balance:100000.00}")
+    private BigDecimal userBalance;
+
+    // Авторы: число и крутизна распределения Ципфа (0 - равномерно, 1 и больше - несколько популярных авторов)
+    @Value("${seed.authors:500}")
+    private int authorCount;
+    @Value("${seed.author-skew:1.0}")
+    private double authorSkew;
+
+    // Цены: логнормальное распределение с медианой и разбросом (sigma логарифма)
+    @Value("${seed.price-median:3000.00}")
+    private BigDecimal priceMedian;
+    @Value("${seed.price-sigma:1.0}")
+    private double priceSigma;
+
+    // Популярность товаров в заказах (распределение Ципфа по товарам)
+    @Value("${seed.product-skew:0.8}")
+    private double productSkew;
+
+    // Статусы в формате "СТАТУС:вес,СТАТУС:вес"
+    @Value("${seed.product-statuses:AVAILABLE:80,BOOKED:5,SOLD:15}")
+    private String productStatuses;
+    @Value("${seed.order-statuses:COMPLETED:70,PENDING:15,CONFIRMED:5,CANCELLED:10}")
+    private String orderStatuses;
+
+    // Даты заказов: период и рост (1.0 - в конце периода заказов вдвое больше, чем в начале)
+    @Value("${seed.orders-from:2023-01-01}")
+    private LocalDate ordersFrom;
+    @Value("${seed.orders-to:2024-12-31}")
+    private LocalDate ordersTo;
+    @Value("${seed.order-growth:1.0}")
+    private double orderGrowth;
+
+    public SeedDataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                             EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class, "%@" + emailDomain);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("В базе уже есть пользователи @" + emailDomain +
+                    ": удалите их или укажите другой seed.email-domain");
+        }
+
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        long[] userIds = insertUsers();
+        long[] productPrices = new long[productCount];
+        long[] productIds = insertProducts(random, productPrices);
+        insertOrders(random, userIds, productIds, productPrices);
+        jdbcTemplate.update(UPDATE_ORDER_IDS);
+        // Вставки мимо Hibernate не сбрасывают кеш второго уровня: счетчики и списки из кеша запросов устарели
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        log.info("Генерация данных завершена за {} с: пользователей {}, товаров {}, заказов {}",
+                (System.nanoTime() - started) / 1_000_000_000, userIds.length, productIds.length, orderCount);
+    }
+
+    // Пользователи (и один администратор для сценария отчетов); возвращает id обычных пользователей
+    private long[] insertUsers() {
+        String hash = passwordEncoder.encode(password);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < userCount; i++) {
+            rows.add(new Object[]{"user" + i + "@" + emailDomain, hash, userBalance, true, now, now});
+            rows = flush(INSERT_USER, rows, false);
+        }
+        rows.add(new Object[]{"admin@" + emailDomain, hash, userBalance, true, now, now});
+        flush(INSERT_USER, rows, true);
+
+        long adminId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, "admin@" + emailDomain);
+        long[] userIds = jdbcTemplate.queryForList(
+                        "SELECT id FROM users WHERE email LIKE ? AND id <> ? ORDER BY id", Long.class, "%@" + emailDomain, adminId)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        rows = new ArrayList<>(batchSize);
+        for (long userId : userIds) {
+            rows.add(new Object[]{userId, Role.ROLE_USER.name()});
+            rows = flush(INSERT_ROLE, rows, false);
+        }
+        rows.add(new Object[]{adminId, Role.ROLE_ADMIN.name()});
+        flush(INSERT_ROLE, rows, true);
+        log.info("Пользователи: {}", userIds.length + 1);
+        return userIds;
+    }
+
+    // Товары; цены в копейках складываются в prices по порядку вставки
+    private long[] insertProducts(SplittableRandom random, long[] prices) {
+        Long maxBefore = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM products", Long.class);
+        double[] authorCdf = zipfCdf(authorCount, authorSkew);
+        Weighted<Product.ProductStatus> statuses = Weighted.parse(productStatuses, Product.ProductStatus.class);
+        double logMedian = Math.log(priceMedian.movePointRight(2).doubleValue());
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < productCount; i++) {
+            int author = sample(authorCdf, random.nextDouble());
+            long cents = Math.max(100L, Math.min(999_999_999L, Math.round(Math.exp(logMedian + priceSigma * random.nextGaussian()))));
+            prices[i] = cents;
+            rows.add(new Object[]{"Product " + i + " " + WORDS[random.nextInt(WORDS.length)],
+                    "Сгенерированный товар " + i, BigDecimal.valueOf(cents, 2),
+                    "author" + author + "@" + emailDomain, statuses.next(random).name()});
+            rows = flush(INSERT_PRODUCT, rows, false);
+            if ((i + 1) % 100_000 == 0) {
+                log.info("Товары: {} из {}", i + 1, productCount);
+            }
+        }
+        flush(INSERT_PRODUCT, rows, true);
+
+        long[] ids = jdbcTemplate.queryForList("SELECT id FROM products WHERE id > ? ORDER BY id", Long.class, maxBefore)
+                .stream().mapToLong(Long::longValue).toArray();
+        if (ids.length != productCount) {
+            throw new IllegalStateException("Ожидалось " + productCount + " новых товаров, найдено " + ids.length);
+        }
+        return ids;
+    }
+
+    // Заказы: товар по популярности, пользователь равномерно, дата с линейным ростом
+    private void insertOrders(SplittableRandom random, long[] userIds, long[] productIds, long[] prices) {
+        double[] productCdf = zipfCdf(productIds.length, productSkew);
+        Weighted<OrderStatus> statuses = Weighted.parse(orderStatuses, OrderStatus.class);
+        LocalDateTime from = ordersFrom.atStartOfDay();
+        long periodSeconds = ChronoUnit.SECONDS.between(from, ordersTo.plusDays(1).atStartOfDay());
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < orderCount; i++) {
+            int product = sample(productCdf, random.nextDouble());
+            int quantity = 1 + (random.nextInt(10) == 0 ? random.nextInt(4) : 0);
+            OrderStatus status = statuses.next(random);
+            LocalDateTime orderDate = from.plusSeconds((long) (growthPosition(random.nextDouble()) * periodSeconds));
+            Timestamp completedDate = status == OrderStatus.COMPLETED
+                    ? Timestamp.valueOf(orderDate.plusHours(1 + random.nextInt(72))) : null;
+            rows.add(new Object[]{productIds[product], userIds[random.nextInt(userIds.length)], quantity,
+                    BigDecimal.valueOf(prices[product] * quantity, 2), status.name(),
+                    Timestamp.valueOf(orderDate), completedDate});
+            rows = flush(INSERT_ORDER, rows, false);
+            if ((i + 1) % 500_000 == 0) {
+                log.info("Заказы: {} из {}", i + 1, orderCount);
+            }
+        }
+        flush(INSERT_ORDER, rows, true);
+    }
+
+    // Отправка накопленных строк одним пакетом, когда набралось batchSize (или всегда при force)
+    private List<Object[]> flush(String sql, List<Object[]> rows, boolean force) {
+        if (rows.isEmpty() || (!force && rows.size() < batchSize)) {
+            return rows;
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+        return new ArrayList<>(batchSize);
+    }
+
+    // Позиция в периоде [0, 1) для плотности, растущей линейно от 1 до 1 + orderGrowth (обратная функция распределения)
+    private double growthPosition(double u) {
+        if (orderGrowth == 0) {
+            return u;
+        }
+        double t = (Math.sqrt(1 + 2 * orderGrowth * u * (1 + orderGrowth / 2)) - 1) / orderGrowth;
+        return Math.min(t, Math.nextDown(1.0));
+    }
+
+    // Накопленные вероятности распределения Ципфа: вес элемента k равен 1 / (k + 1)^skew
+    static double[] zipfCdf(int size, double skew) {
+        double[] cdf = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1 / Math.pow(k + 1, skew);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    // Номер элемента по накопленным вероятностям и случайному числу из [0, 1)
+    static int sample(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cdf.length - 1);
+    }
+
+    // Выбор значения перечисления по весам
+    record Weighted<E extends Enum<E>>(List<E> values, double[] cdf) {
+
+        static <E extends Enum<E>> Weighted<E> parse(String spec, Class<E> type) {
+            List<E> values = new ArrayList<>();
+            List<Double> weights = new ArrayList<>();
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split(":");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Ожидается СТАТУС:вес, получено: " + part);
+                }
+                values.add(Enum.valueOf(type, pair[0].trim()));
+                weights.add(Double.parseDouble(pair[1].trim()));
+            }
+            double total = weights.stream().mapToDouble(Double::doubleValue).sum();
+            double[] cdf = new double[weights.size()];
+            double sum = 0;
+            for (int i = 0; i < cdf.length; i++) {
+                sum += weights.get(i) / total;
+                cdf[i] = sum;
+            }
+            return new Weighted<>(values, cdf);
+        }
+
+        E next(SplittableRandom random) {
+            return values.get(sample(cdf, random.nextDouble()));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.musicstore.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кеш UserDetails для входа (UserCache для DaoAuthenticationProvider): повторный вход не читает пользователя из базы.
+ * Если пароль не совпал с закешированным хешем, DaoAuthenticationProvider сам перечитывает пользователя из базы,
+ * поэтому устаревший хеш не мешает войти. Роли и активность сбрасываются через removeUserFromCache
+ * (AdminUserController, UserManagementService).
+ *
+ * Хранятся копии: после входа Spring Security стирает пароль у UserDetails в Authentication
+ * (eraseCredentials), и без копии в кеше остался бы пароль null.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    // Запись кеша со временем истечения
+    private record Entry(UserDetails user, long expiresAtMillis) {
+    }
+
+    private final Duration ttl;
+
+    // LRU-мапа в порядке обращения (доступ под блокировкой this)
+    private final LinkedHashMap<String, Entry> entries;
+
+    public UserDetailsCache(@Value("${security.user-cache.max-entries:10000}") int maxEntries,
+                            @Value("${security.user-cache.ttl:5m}") Duration ttl) {
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized UserDetails getUserFromCache(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+            entries.remove(username);
+            return null;
+        }
+        return User.withUserDetails(entry.user()).build();
+    }
+
+    @Override
+    public synchronized void putUserInCache(UserDetails user) {
+        UserDetails copy = User.withUserDetails(user).build();
+        entries.put(user.getUsername(), new Entry(copy, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public synchronized void removeUserFromCache(String username) {
+        entries.remove(username);
+    }
+}
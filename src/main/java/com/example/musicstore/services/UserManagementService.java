@@ -17,6 +17,8 @@ import java.util.List;
 public class UserManagementService {
 
     private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Получение всех пользователей, отсортированных по ID в порядке возрастания
@@ -39,6 +41,8 @@ public class UserManagementService {
                 .orElseThrow(() -> new RuntimeException("Пользователь не найден"));
         user.setActive(isActive);
         userRepository.save(user);
+        currentUserResolver.evict(user.getEmail());
+        userDetailsCache.removeUserFromCache(user.getEmail());
     }
 
     /**
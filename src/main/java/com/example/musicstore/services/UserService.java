@@ -35,6 +35,10 @@ public class UserService implements UserDetailsService {
     private final NotificationService notificationService;
     // Кодировщик паролей для безопасного хранения
     private final PasswordEncoder passwordEncoder;
+    // Текущий пользователь без повторных запросов в рамках HTTP-запроса
+    private final CurrentUserResolver currentUserResolver;
+    // Кеш пользователей для входа (UserDetails с TTL)
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Создание нового пользователя
@@ -108,12 +112,15 @@ public class UserService implements UserDetailsService {
      * @throws EntityNotFoundException если пользователь не найден
      */
     public void deleteUser(Long id) {
-        // Проверка существования пользователя по id
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("Пользователь не найден: " + id);
-        }
+        // Поиск пользователя по id: email нужен, чтобы сбросить кеши после удаления
+        String email = userRepository.findById(id)
+                .map(User::getEmail)
+                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден: " + id));
         // Удаление пользователя из базы данных
         userRepository.deleteById(id);
+        // Удаленный пользователь не должен войти по закешированным UserDetails или остаться текущим
+        userDetailsCache.removeUserFromCache(email);
+        currentUserResolver.evict(email);
     }
 
     //------------------------------------------------------------------------
@@ -128,21 +135,20 @@ public class UserService implements UserDetailsService {
      */
     @Transactional
     public boolean deductBalance(String email, BigDecimal amount) {
-        // Поиск пользователя по email
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден"));
-
-        // Проверка достаточности средств на балансе
-        if (user.getBalance().compareTo(amount) >= 0) {
-            // Списание суммы с баланса
-            user.setBalance(user.getBalance().subtract(amount));
-            // Сохранение изменений в базе данных
-            userRepository.save(user);
-            // Логирование операции списания
-            log.info("Списано {} с баланса пользователя {}", amount, email);
-            return true; // Успешное списание
+        // Проверка достаточности средств и списание одним UPDATE (без гонки между чтением и записью)
+        int updated = userRepository.deductBalance(email, amount, LocalDateTime.now());
+        if (updated == 0) {
+            // Пользователь есть, но средств недостаточно
+            if (userRepository.existsByEmail(email)) {
+                return false;
+            }
+            throw new EntityNotFoundException("Пользователь не найден");
         }
-        return false; // Недостаточно средств
+        // Закешированный пользователь теперь с устаревшим балансом
+        currentUserResolver.evict(email);
+        // Логирование операции списания
+        log.info("Списано {} с баланса пользователя {}", amount, email);
+        return true; // Успешное списание
     }
 
     /**
@@ -153,14 +159,12 @@ public class UserService implements UserDetailsService {
      */
     @Transactional
     public void addBalance(String email, BigDecimal amount) {
-        // Поиск пользователя по email
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден"));
-
-        // Добавление суммы к балансу
-        user.setBalance(user.getBalance().add(amount));
-        // Сохранение изменений в базе данных
-        userRepository.save(user);
+        // Добавление суммы к балансу одним UPDATE
+        if (userRepository.addBalance(email, amount, LocalDateTime.now()) == 0) {
+            throw new EntityNotFoundException("Пользователь не найден");
+        }
+        // Закешированный пользователь теперь с устаревшим балансом
+        currentUserResolver.evict(email);
         // Логирование операции пополнения
         log.info("Добавлено {} на баланс пользователя {}", amount, email);
     }
@@ -171,12 +175,9 @@ public class UserService implements UserDetailsService {
      * @return текущий баланс пользователя
      * @throws EntityNotFoundException если пользователь не найден
      */
-    @Transactional
     public BigDecimal getBalance(String email) {
-        // Поиск пользователя по email и возврат его баланса
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден"));
-        return user.getBalance();
+        // Пользователь загружается не больше одного раза за HTTP-запрос
+        return currentUserResolver.resolve(email).getBalance();
     }
 
     /**
@@ -0,0 +1,83 @@
+-- Схема, которую раньше создавал Hibernate (ddl-auto=update).
+-- На существующей базе эта миграция не выполняется: spring.flyway.baseline-on-migrate=true
+-- отмечает базу версией 1, и применяются только следующие миграции.
+
+create table users (
+    active bit not null,
+    balance decimal(10,2),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    email varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id bigint not null,
+    role enum ('ROLE_USER','ROLE_ADMIN')
+) engine=InnoDB;
+
+create table userone (
+    birth_date date,
+    id bigint not null auto_increment,
+    registration_date datetime(6),
+    email varchar(255) not null,
+    full_name varchar(255) not null,
+    phone varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table products (
+    price decimal(12,2) not null,
+    booked_by_id bigint,
+    booking_expiry datetime(6),
+    buyer_id bigint,
+    id bigint not null auto_increment,
+    author varchar(255) not null,
+    description text,
+    image_path varchar(255),
+    name varchar(255) not null,
+    status enum ('AVAILABLE','BOOKED','SOLD'),
+    primary key (id)
+) engine=InnoDB;
+
+create table images (
+    is_preview_image bit,
+    id bigint not null,
+    product_id bigint,
+    size bigint,
+    content_type varchar(255),
+    name varchar(255),
+    original_file_name varchar(255),
+    bytes tinyblob,
+    primary key (id)
+) engine=InnoDB;
+
+create table images_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into images_seq values (1);
+
+create table orders (
+    quantity integer,
+    total_amount decimal(12,2),
+    completed_date datetime(6),
+    id bigint not null auto_increment,
+    order_date datetime(6),
+    product_id bigint,
+    user_id bigint,
+    status enum ('PENDING','CONFIRMED','COMPLETED','CANCELLED'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table userone add constraint UK_6aximthc1n9rgffsafafgc9g unique (email);
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table images add constraint FKghwsjbjo7mg3iufxruvq6iu3q foreign key (product_id) references products (id);
+alter table orders add constraint FKkp5k52qtiygd8jkag4hayd0qg foreign key (product_id) references products (id);
+alter table orders add constraint FK32ql8ubntj5uh44ph9659tiih foreign key (user_id) references users (id);
+alter table products add constraint FKmr8ncye1xi1bf22hiomt9ed69 foreign key (booked_by_id) references users (id);
+alter table products add constraint FK4osxb4hh755cpi0q0t2sba2q6 foreign key (buyer_id) references users (id);
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id);
@@ -0,0 +1,21 @@
+-- Индексы под фактические запросы репозиториев (планы проверяются тестами в src/test/.../repositories).
+-- Индексы на product_id и user_id InnoDB уже создал для внешних ключей; индексы ниже их заменяют
+-- (MySQL сам удаляет автоматический индекс внешнего ключа, когда появляется другой подходящий).
+
+-- Отчеты и выручка: WHERE status = ? AND order_date BETWEEN ? AND ? (OrderRepository.findReportRows и др.)
+create index idx_orders_status_date on orders (status, order_date);
+
+-- Заказы товара: WHERE product_id = ? (findByProductId, отмена брони)
+create index idx_orders_product on orders (product_id);
+
+-- Заказы пользователя: WHERE user_id = ? AND status NOT IN (...) (findByUserIdAndStatusNotIn)
+create index idx_orders_user_status on orders (user_id, status);
+
+-- Снятие просроченных броней: WHERE status = 'BOOKED' AND booking_expiry < ? (findAllByStatusAndBookingExpiryBefore)
+create index idx_products_status_expiry on products (status, booking_expiry);
+
+-- Список авторов и фильтр отчетов по автору (findAllDistinctAuthors)
+create index idx_products_author on products (author);
+
+-- Поиск товара по точному названию (findByName)
+create index idx_products_name on products (name);
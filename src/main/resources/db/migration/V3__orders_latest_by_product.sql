@@ -0,0 +1,7 @@
+-- Последний заказ товара: WHERE product_id = ? ORDER BY order_date DESC, id DESC LIMIT 1
+-- (OrderRepository.findLatestStatusByProductId и findLatestStatuses). InnoDB дописывает первичный ключ id
+-- в конец каждого вторичного индекса, поэтому индекс отдает заказы товара уже в нужном порядке, без сортировки.
+create index idx_orders_product_date on orders (product_id, order_date);
+
+-- Индекс только по product_id стал лишним: поиск заказов товара (findByProductId) идет по началу нового индекса
+drop index idx_orders_product on orders;
@@ -0,0 +1,13 @@
+-- Генератор id заказов (Order, @TableGenerator "orders_ids"): Hibernate берет из строки пачку из 50 id
+-- и раздает их из памяти, поэтому INSERT новых заказов отправляются пакетами.
+-- auto_increment у orders.id остается для вставок мимо Hibernate (SeedDataGenerator сдвигает генератор после них).
+create table id_generators (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+-- next_val - последний id следующей пачки (оптимизатор pooled раздает next_val - 49 .. next_val),
+-- поэтому генератор начинается сразу после уже существующих заказов
+insert into id_generators (sequence_name, next_val)
+select 'orders', coalesce(max(id), 0) + 50 from orders;
@@ -0,0 +1,7 @@
+-- Денежные колонки в DECIMAL(12,2), как в сущностях (Money через MoneyConverter).
+-- Базы, созданные ddl-auto=update до перехода на Money и отмеченные версией 1 (baseline-on-migrate),
+-- хранят products.price как double (поле было Double), а orders.total_amount - как decimal(38,2)
+-- (BigDecimal без precision); тогда проверка схемы Hibernate (ddl-auto=validate) не проходит.
+-- На базе, созданной миграцией V1, колонки уже такие, и изменения ничего не меняют.
+alter table products modify price decimal(12,2) not null;
+alter table orders modify total_amount decimal(12,2);
@@ -0,0 +1,52 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.configurations;
+
+// Импорт моделей приложения
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.StatusDistribution;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+// Импорт классов Spring для проверки подсказок native-image
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса для NativeHints
+class NativeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    // Тест: геттеры моделей (Lombok) и конструкторы DTO доступны рефлексией
+    @Test
+    void registerHints_ShouldExposeModelGettersAndConstructors() throws NoSuchMethodException {
+        // Act & Assert
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(Product.class.getMethod("getName")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(StatusDistribution.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    // Тест: шаблоны, миграции и ресурсы PDFBox и POI попадают в образ
+    @Test
+    void registerHints_ShouldIncludeTemplatesAndLibraryResources() {
+        // Act & Assert
+        assertTrue(RuntimeHintsPredicates.resource().forResource("templates/catalog.html").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__baseline_schema.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("org/apache/pdfbox/resources/glyphlist/glyphlist.txt").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of(NativeHints.POI_TYPE_SYSTEM)).test(hints));
+    }
+}
@@ -0,0 +1,98 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.configurations;
+
+// Импорт классов JPA и Hibernate
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций и классов Mockito
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт классов Spring для транзакций
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Импорт статических методов для работы с Mockito
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для ReplicaCacheGuard
+class ReplicaCacheGuardTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private Session session;
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+    @Mock
+    private TransactionExecution transaction;
+
+    private ReplicaCacheGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new ReplicaCacheGuard(entityManagerFactory, replicaLagMonitor);
+        // Сессия текущей транзакции, как ее привязывает JpaTransactionManager
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+    }
+
+    // Тест: чтение вскоре после записи берет кеш, но не кладет в него строки с реплики
+    @Test
+    void afterBegin_WhenReadOnlyAfterWrite_ShouldNotPutIntoCache() {
+        // Arrange
+        when(transaction.isReadOnly()).thenReturn(true);
+        when(replicaLagMonitor.isReadCacheable()).thenReturn(false);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+
+        // Act
+        guard.afterBegin(transaction, null);
+
+        // Assert
+        verify(session).setCacheMode(CacheMode.GET);
+    }
+
+    // Тест: вне окна после записи и в транзакциях записи кеш используется как обычно
+    @Test
+    void afterBegin_WhenCacheableOrReadWrite_ShouldKeepCacheMode() {
+        // Arrange
+        when(transaction.isReadOnly()).thenReturn(true, false);
+        when(replicaLagMonitor.isReadCacheable()).thenReturn(true);
+
+        // Act
+        guard.afterBegin(transaction, null);
+        guard.afterBegin(transaction, null);
+
+        // Assert
+        verifyNoInteractions(entityManager);
+    }
+
+    // Тест: фиксация транзакции записи отмечается, транзакции только для чтения - нет
+    @Test
+    void afterCommit_ShouldRecordOnlyWrites() {
+        // Arrange
+        when(transaction.isReadOnly()).thenReturn(false, true);
+
+        // Act
+        guard.afterCommit(transaction, null);
+        guard.afterCommit(transaction, null);
+
+        // Assert
+        verify(replicaLagMonitor, times(1)).recordWrite();
+    }
+}
@@ -0,0 +1,138 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.configurations;
+
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций и классов Mockito
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+// Импорт классов JDBC
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// Импорт статических методов для утверждений и Mockito
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для ReplicaLagMonitor
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaLagMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        monitor.destroy();
+    }
+
+    // Тест: при отставании больше допустимого чтения идут в основную базу, после догона - снова в реплику
+    @Test
+    void check_WhenLagAboveLimit_ShouldRouteReadsToPrimaryUntilCaughtUp() throws SQLException {
+        // Arrange - реплика отстает на 30 с при допустимых 5 с
+        monitor = monitor("SHOW REPLICA STATUS");
+        ResultSet status = replicaStatus(30);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act
+        monitor.check();
+
+        // Assert
+        assertFalse(monitor.isUsable());
+        assertSame(primaryConnection, monitor.readOnlyDataSource().getConnection());
+
+        // Act - реплика догнала основную базу
+        when(status.getObject("Seconds_Behind_Source")).thenReturn(1L);
+        monitor.check();
+
+        // Assert
+        assertTrue(monitor.isUsable());
+        assertSame(replicaConnection, monitor.readOnlyDataSource().getConnection());
+    }
+
+    // Тест: остановленная репликация (Seconds_Behind_Source = NULL) выключает реплику
+    @Test
+    void check_WhenReplicationStopped_ShouldMarkUnusable() throws SQLException {
+        // Arrange
+        monitor = monitor("SHOW REPLICA STATUS");
+        ResultSet status = replicaStatus(0);
+        when(status.getObject("Seconds_Behind_Source")).thenReturn(null);
+
+        // Act
+        monitor.check();
+
+        // Assert
+        assertFalse(monitor.isUsable());
+    }
+
+    // Тест: если соединение с репликой не получено, чтение выполняется в основной базе
+    @Test
+    void readOnlyDataSource_WhenReplicaDown_ShouldFallBackToPrimary() throws SQLException {
+        // Arrange
+        monitor = monitor("");
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act
+        Connection connection = monitor.readOnlyDataSource().getConnection();
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        assertFalse(monitor.isUsable());
+    }
+
+    // Тест: после записи чтения с реплики не кешируются, пока реплика используется
+    @Test
+    void isReadCacheable_AfterWrite_ShouldBeFalseWhileReplicaInUse() throws SQLException {
+        // Arrange
+        monitor = monitor("SHOW REPLICA STATUS");
+        assertTrue(monitor.isReadCacheable());
+
+        // Act
+        monitor.recordWrite();
+
+        // Assert: окно max-lag + check-interval еще не прошло
+        assertFalse(monitor.isReadCacheable());
+
+        // Act - реплика отстала, чтения идут в основную базу и снова кешируются
+        replicaStatus(30);
+        monitor.check();
+
+        // Assert
+        assertTrue(monitor.isReadCacheable());
+    }
+
+    // Монитор с редкой фоновой проверкой: в тестах check() вызывается явно
+    private ReplicaLagMonitor monitor(String lagQuery) {
+        return new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(5), Duration.ofHours(1),
+                lagQuery, "Seconds_Behind_Source");
+    }
+
+    // Ответ SHOW REPLICA STATUS с указанным отставанием
+    private ResultSet replicaStatus(long lagSeconds) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        lenient().when(resultSet.getObject("Seconds_Behind_Source")).thenReturn(lagSeconds);
+        return resultSet;
+    }
+}
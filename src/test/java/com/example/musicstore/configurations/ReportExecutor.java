@@ -0,0 +1,86 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.configurations;
+
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций и классов Mockito
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт классов Spring для окружения и транзакций
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+// Импорт классов для работы со временем и задачами
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для ReportExecutor
+class ReportExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    // Тест: флаг виртуальных потоков без Java 21 не ломает запуск, задачи идут в пул отчетов
+    @Test
+    void constructor_WhenVirtualThreadsFlagOnOlderJava_ShouldUsePlatformPool() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+        // Act
+        executor = executor(Duration.ofSeconds(5), environment);
+        CompletableFuture<String> thread = executor.supplyReadOnly(() -> Thread.currentThread().getName());
+        executor.awaitAll(thread);
+
+        // Assert
+        assertTrue(thread.join().startsWith("report-"));
+    }
+
+    // Тест: по истечении лимита задача отменяется с прерыванием потока, транзакция ограничена тем же лимитом
+    @Test
+    void awaitAll_WhenTimeoutExceeded_ShouldInterruptRunningTask() throws InterruptedException {
+        // Arrange
+        executor = executor(Duration.ofMillis(200), new MockEnvironment());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> slow = executor.supplyReadOnly(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> executor.awaitAll(slow));
+        assertTrue(slow.isCancelled());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "поток задачи не прерван");
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        assertEquals(1, definition.getValue().getTimeout());
+    }
+
+    private ReportExecutor executor(Duration timeout, MockEnvironment environment) {
+        return new ReportExecutor(transactionManager, new MdcTaskDecorator(), 2, 4, timeout, environment);
+    }
+}
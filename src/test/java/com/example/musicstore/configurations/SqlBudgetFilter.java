@@ -0,0 +1,94 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.configurations;
+
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+// Импорт тестовых заглушек запроса и ответа Spring
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Импорт классов для работы с временем и коллекциями
+import java.time.Duration;
+import java.util.List;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса для SqlBudgetFilter
+class SqlBudgetFilterTest {
+
+    private final SqlBudgetReport report = new SqlBudgetReport(10);
+    // Бюджет: 3 оператора на запрос
+    private final SqlBudgetFilter filter = new SqlBudgetFilter(report, 3, Duration.ofSeconds(1));
+    private final SqlBudgetConfig.CountingStatementInspector inspector = new SqlBudgetConfig.CountingStatementInspector();
+
+    // Тест: запрос с повторяющимся оператором (N+1) попадает в сводку как превышение бюджета
+    @Test
+    void doFilter_WhenStatementsOverBudget_ShouldReportRepeatedStatement() throws Exception {
+        // Arrange - обработчик выполняет один запрос списка и 5 одинаковых запросов по id
+        MockHttpServletRequest request = request("/product/{id}");
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, jakarta.servlet.http.HttpServletResponse res) {
+                inspector.inspect("select * from products");
+                for (int i = 0; i < 5; i++) {
+                    inspector.inspect("select * from users where id=?");
+                }
+            }
+        });
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        List<SqlBudgetReport.Offender> offenders = report.worstOffenders();
+        assertEquals(1, offenders.size());
+        SqlBudgetReport.Offender offender = offenders.get(0);
+        assertEquals("GET /product/{id}", offender.endpoint());
+        assertEquals(1, offender.requests());
+        assertEquals(1, offender.overBudget());
+        assertEquals(6, offender.maxStatements());
+        assertEquals("select * from users where id=?", offender.mostRepeatedSql());
+        assertEquals(5, offender.mostRepeatedCount());
+        // После запроса операторы в этом потоке больше не учитываются
+        assertNull(RequestSqlStats.current());
+    }
+
+    // Тест: запрос в пределах бюджета учитывается, но не считается превышением; худшие обработчики идут первыми
+    @Test
+    void worstOffenders_ShouldSortByMaxStatements() throws Exception {
+        // Arrange
+        MockFilterChain small = chainWithStatements(2);
+        MockFilterChain large = chainWithStatements(4);
+
+        // Act
+        filter.doFilter(request("/catalog"), new MockHttpServletResponse(), small);
+        filter.doFilter(request("/cart"), new MockHttpServletResponse(), large);
+
+        // Assert
+        List<SqlBudgetReport.Offender> offenders = report.worstOffenders();
+        assertEquals(List.of("GET /cart", "GET /catalog"), offenders.stream().map(SqlBudgetReport.Offender::endpoint).toList());
+        assertEquals(1, offenders.get(0).overBudget());
+        assertEquals(0, offenders.get(1).overBudget());
+    }
+
+    // Запрос с шаблоном обработчика, который выставляет Spring MVC
+    private static MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private MockFilterChain chainWithStatements(int count) {
+        return new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, jakarta.servlet.http.HttpServletResponse res) {
+                for (int i = 0; i < count; i++) {
+                    inspector.inspect("select " + i);
+                }
+            }
+        });
+    }
+}
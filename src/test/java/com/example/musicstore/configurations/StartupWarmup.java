@@ -0,0 +1,84 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.configurations;
+
+// Импорт моделей приложения
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.ProductDto;
+// Импорт репозитория и сервиса товаров
+import com.example.musicstore.repositories.ProductRepository;
+import com.example.musicstore.services.ProductService;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций и классов Mockito
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт классов Spring
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+
+// Импорт классов для работы со временем и коллекциями
+import java.time.Duration;
+import java.util.List;
+
+// Импорт статических методов для утверждений и Mockito
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для StartupWarmup
+class StartupWarmupTest {
+
+    @Mock
+    private ProductService productService;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private Environment environment;
+
+    // Тест: каждый проход читает первую страницу каталога, открывает первые товары по id и ищет по всем словам
+    @Test
+    void run_ShouldRepeatHotQueriesForEachIteration() {
+        // Arrange
+        when(productRepository.findDtoPage(0L, PageRequest.of(0, 20))).thenReturn(List.of(dto(7L), dto(8L), dto(9L)));
+
+        // Act
+        warmup(3).run(new DefaultApplicationArguments());
+
+        // Assert: каталог целиком не читается, карточки - только первых двух товаров страницы
+        verify(productService, never()).getAllProducts();
+        verify(productService, times(3)).getProductById(7L);
+        verify(productService, times(3)).getProductById(8L);
+        verify(productService, never()).getProductById(9L);
+        verify(productService, times(3)).findByTitleContaining("Guitar");
+        verify(productService, times(3)).findByTitleContaining("Piano");
+        verify(productRepository, times(3)).countByStatus(Product.ProductStatus.SOLD);
+        verify(productRepository, times(3)).findAllDistinctAuthors();
+    }
+
+    // Тест: ошибка прогрева не мешает запуску, оставшиеся проходы пропускаются
+    @Test
+    void run_WhenQueryFails_ShouldStopWithoutThrowing() {
+        // Arrange
+        when(productRepository.findDtoPage(0L, PageRequest.of(0, 20))).thenThrow(new IllegalStateException("база недоступна"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> warmup(3).run(new DefaultApplicationArguments()));
+        verify(productRepository, times(1)).findDtoPage(0L, PageRequest.of(0, 20));
+        verifyNoInteractions(productService);
+    }
+
+    // Порт сервера не задан: страницы не запрашиваются, только запросы к базе
+    private StartupWarmup warmup(int iterations) {
+        return new StartupWarmup(productService, productRepository, environment, iterations, 20, 2,
+                List.of("Guitar", "Piano"), List.of("/catalog"), Duration.ofMinutes(1));
+    }
+
+    private ProductDto dto(Long id) {
+        ProductDto dto = new ProductDto();
+        dto.setId(id);
+        return dto;
+    }
+}
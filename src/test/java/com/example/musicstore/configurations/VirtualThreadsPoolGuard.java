@@ -0,0 +1,41 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.configurations;
+
+// Импорт пула соединений Hikari
+import com.zaxxer.hikari.HikariDataSource;
+// Импорт аннотации JUnit для тестирования
+import org.junit.jupiter.api.Test;
+// Импорт обертки DataSource из Spring JDBC
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+// Импорт интерфейса DataSource
+import javax.sql.DataSource;
+
+// Импорт статических методов для утверждений и Mockito
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// Объявление тестового класса для VirtualThreadsPoolGuard
+class VirtualThreadsPoolGuardTest {
+
+    // Тест: пул Hikari находится и за LazyConnectionDataSourceProxy основного DataSource
+    @Test
+    void hikari_ShouldUnwrapLazyConnectionProxy() {
+        // Arrange
+        try (HikariDataSource pool = new HikariDataSource()) {
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+            proxy.setTargetDataSource(pool);
+
+            // Act & Assert
+            assertSame(pool, VirtualThreadsPoolGuard.hikari(proxy));
+            assertSame(pool, VirtualThreadsPoolGuard.hikari(pool));
+        }
+    }
+
+    // Тест: другой пул соединений - проверка пропускается
+    @Test
+    void hikari_WhenNotHikari_ShouldReturnNull() {
+        // Act & Assert
+        assertNull(VirtualThreadsPoolGuard.hikari(mock(DataSource.class)));
+    }
+}
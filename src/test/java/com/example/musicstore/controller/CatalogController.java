@@ -1,6 +1,8 @@
 // Пакет, в котором находится тестовый класс
 package com.example.musicstore.controller;
 
+// Импорт модели Money
+import com.example.musicstore.models.Money;
 // Импорт модели Product
 import com.example.musicstore.models.Product;
 // Импорт сервиса для работы с продуктами
@@ -50,7 +52,7 @@ class CatalogControllerTest {
         // Установка названия продукта
         testProduct.setName("Test Product");
         // Установка цены продукта
-        testProduct.setPrice(100.0);
+        testProduct.setPrice(Money.parse("100.00"));
     }
 
     // Тест для метода showProductDetails - проверка возвращаемого представления
@@ -0,0 +1,81 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.controller;
+
+// Импорт метрик магазина
+import com.example.musicstore.configurations.StoreMetrics;
+// Импорт сервисов приложения
+import com.example.musicstore.services.InsufficientFundsException;
+import com.example.musicstore.services.ProductCardCache;
+import com.example.musicstore.services.ProductService;
+import com.example.musicstore.services.UserService;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций Mockito для создания mock-объектов
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт flash-атрибутов для редиректа
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+// Импорт классов для работы с коллекциями и пользователем запроса
+import java.security.Principal;
+import java.util.List;
+
+// Импорт статических методов для утверждений и работы с Mockito
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для DopCatalogController
+class DopCatalogControllerTest {
+
+    @Mock
+    private ProductService productService;
+    @Mock
+    private UserService userService;
+    @Mock
+    private StoreMetrics storeMetrics;
+    @Mock
+    private ProductCardCache productCardCache;
+
+    @InjectMocks
+    private DopCatalogController controller;
+
+    private final Principal principal = () -> "buyer@example.com";
+
+    // Тест: быстрая покупка идет через атомарную покупку с оплатой, баланс из кеша не читается
+    @Test
+    void buyNow_ShouldPurchaseAndChargeInOneCall() {
+        // Arrange
+        RedirectAttributesModelMap attributes = new RedirectAttributesModelMap();
+
+        // Act
+        String view = controller.buyNow(5L, principal, attributes);
+
+        // Assert
+        assertEquals("redirect:/catalog", view);
+        verify(productService).purchaseProducts(List.of(5L), "buyer@example.com");
+        verifyNoInteractions(userService);
+        verify(storeMetrics).checkout(StoreMetrics.QUICK, StoreMetrics.SUCCESS);
+        assertEquals("Товар успешно куплен!", attributes.getFlashAttributes().get("success"));
+    }
+
+    // Тест: нехватка средств из транзакции покупки - ошибка и метрика недостатка средств, не успех
+    @Test
+    void buyNow_WhenInsufficientFunds_ShouldReportIt() {
+        // Arrange
+        RedirectAttributesModelMap attributes = new RedirectAttributesModelMap();
+        doThrow(new InsufficientFundsException())
+                .when(productService).purchaseProducts(List.of(5L), "buyer@example.com");
+
+        // Act
+        controller.buyNow(5L, principal, attributes);
+
+        // Assert
+        verify(storeMetrics).checkout(StoreMetrics.QUICK, StoreMetrics.INSUFFICIENT_FUNDS);
+        verify(storeMetrics, never()).checkout(StoreMetrics.QUICK, StoreMetrics.SUCCESS);
+        assertEquals("Недостаточно средств на счете", attributes.getFlashAttributes().get("error"));
+    }
+}
@@ -0,0 +1,82 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.models;
+
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса для Cart
+class CartTest {
+
+    // Тестовая корзина
+    private Cart cart;
+    // Тестовые товары
+    private Product guitar;
+    private Product drum;
+
+    // Метод, выполняемый перед каждым тестом для инициализации данных
+    @BeforeEach
+    void setUp() {
+        cart = new Cart();
+
+        guitar = new Product();
+        guitar.setId(1L);
+        guitar.setName("Guitar");
+        guitar.setPrice(Money.parse("199.99"));
+
+        drum = new Product();
+        drum.setId(2L);
+        drum.setName("Drum");
+        drum.setPrice(Money.parse("0.10"));
+    }
+
+    // Тест: итоги корзины поддерживаются при добавлении, изменении и удалении
+    @Test
+    void totals_ShouldFollowMutations() {
+        cart.addItem(guitar);
+        cart.addItem(guitar);
+        cart.addItem(drum);
+
+        // 2 * 199.99 + 0.10
+        assertEquals(Money.parse("400.08"), cart.getTotalAmount());
+        assertEquals(3, cart.getTotalItems());
+
+        cart.updateQuantity(2L, 5);
+        assertEquals(Money.parse("400.48"), cart.getTotalAmount());
+        assertEquals(7, cart.getTotalItems());
+
+        cart.removeItem(1L);
+        assertEquals(Money.parse("0.50"), cart.getTotalAmount());
+        assertEquals(5, cart.getTotalItems());
+
+        cart.clear();
+        assertEquals(Money.parse("0.00"), cart.getTotalAmount());
+        assertEquals(0, cart.getTotalItems());
+    }
+
+    // Тест: недопустимое количество отклоняется, итоги не меняются
+    @Test
+    void updateQuantity_WhenOutOfRange_ShouldThrowAndKeepTotals() {
+        cart.addItem(guitar);
+
+        assertThrows(IllegalArgumentException.class, () -> cart.updateQuantity(1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> cart.updateQuantity(1L, Cart.MAX_QUANTITY + 1));
+
+        assertEquals(Money.parse("199.99"), cart.getTotalAmount());
+        assertEquals(1, cart.getTotalItems());
+    }
+
+    // Тест: удаление отсутствующего товара не меняет корзину
+    @Test
+    void removeItem_WhenMissing_ShouldDoNothing() {
+        cart.addItem(drum);
+
+        cart.removeItem(42L);
+
+        assertEquals(1, cart.getItems().size());
+        assertEquals(Money.parse("0.10"), cart.getTotalAmount());
+    }
+}
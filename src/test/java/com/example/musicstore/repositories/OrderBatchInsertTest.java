@@ -0,0 +1,210 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.repositories;
+
+// Импорт главного класса приложения (репозитории и сущности)
+import com.example.musicstore.MusicstoreApplication.MusicstoreApplication;
+// Импорт моделей приложения
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Order;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.User;
+import com.example.musicstore.models.enums.OrderStatus;
+import com.example.musicstore.models.enums.Role;
+// Импорт сервисов приложения
+import com.example.musicstore.services.CurrentUserResolver;
+import com.example.musicstore.services.InsufficientFundsException;
+import com.example.musicstore.services.NotificationService;
+import com.example.musicstore.services.ProductService;
+import com.example.musicstore.services.UserDetailsCache;
+import com.example.musicstore.services.UserService;
+// Импорт классов JPA и Hibernate для статистики запросов
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+// Импорт аннотации JUnit для тестирования
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+// Импорт аннотаций и классов Spring для тестов JPA
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Импорт классов для работы с суммами и коллекциями
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Пакетная вставка заказов на H2: id заказов берутся из табличного генератора пачками,
+ * поэтому оформление корзины из 50 товаров отправляет INSERT заказов и UPDATE товаров пакетами,
+ * а не отдельным запросом на каждую строку.
+ * Тестовые транзакции выключены: покупка фиксируется сама, как в приложении.
+ * Тест пакетной вставки идет первым (порядок по имени): он проверяет id от еще не начатого генератора,
+ * а откатанные покупки других тестов оставляют в генераторе начатую пачку id.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = MusicstoreApplication.class)
+@Import({ProductService.class, CurrentUserResolver.class, UserService.class, UserDetailsCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class OrderBatchInsertTest {
+
+    // Размер корзины и пакета JDBC (hibernate.jdbc.batch_size)
+    private static final int ITEMS = 50;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    // Зависимости UserService, не нужные для списания баланса
+    @MockBean
+    private NotificationService notificationService;
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        // Кеш второго уровня (один CacheManager по ehcache.xml) общий для всех тестовых баз в JVM:
+        // пользователи с теми же id из других тестов не должны читаться отсюда
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    // Тест: корзина из 50 товаров покупается за несколько подготовленных запросов, заказы получают новые id
+    @Test
+    void purchaseProducts_ShouldBatchOrderInsertsAndProductUpdates() {
+        // Arrange
+        String seller = saveUser(BigDecimal.ZERO).getEmail();
+        User buyer = saveUser(new BigDecimal("5000.00"));
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            productIds.add(saveProduct(seller).getId());
+        }
+        // Заказ, вставленный мимо Hibernate, как в SeedDataGenerator: генератор не должен выдать его id
+        jdbcTemplate.update("INSERT INTO orders (product_id, user_id, quantity, total_amount, status, order_date) "
+                + "VALUES (?, ?, 1, 100.00, 'CANCELLED', CURRENT_TIMESTAMP)", productIds.get(0), buyer.getId());
+        jdbcTemplate.update("UPDATE id_generators SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM orders) "
+                + "WHERE sequence_name = 'orders'");
+        Long existingMaxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        productService.purchaseProducts(productIds, buyer.getEmail());
+
+        // Assert: 50 INSERT и 50 UPDATE ушли пакетами - подготовленных запросов намного меньше, чем строк
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "Подготовлено запросов: " + statistics.getPrepareStatementCount());
+        assertEquals(ITEMS, statistics.getEntityInsertCount());
+        List<Order> orders = new ArrayList<>();
+        for (Long productId : productIds) {
+            assertEquals(Product.ProductStatus.SOLD, productRepository.findById(productId).orElseThrow().getStatus());
+            orderRepository.findByProductId(productId).stream()
+                    .filter(order -> order.getStatus() == OrderStatus.COMPLETED)
+                    .forEach(orders::add);
+        }
+        assertEquals(ITEMS, orders.size());
+        assertTrue(orders.stream().allMatch(order -> order.getId() > existingMaxId));
+        assertEquals(ITEMS, orders.stream().map(Order::getId).distinct().count());
+        // Оплата списана в той же транзакции
+        assertEquals(0, BigDecimal.ZERO.compareTo(userRepository.findById(buyer.getId()).orElseThrow().getBalance()));
+    }
+
+    // Тест: нехватка средств обнаруживается после записи заказов - откатываются и заказы, и статусы товаров
+    @Test
+    void purchaseProducts_ShouldRollBackWholeCartOnFailure() {
+        // Arrange - денег хватает только на один товар из двух
+        String seller = saveUser(BigDecimal.ZERO).getEmail();
+        User buyer = saveUser(new BigDecimal("150.00"));
+        Long first = saveProduct(seller).getId();
+        Long second = saveProduct(seller).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        assertThrows(InsufficientFundsException.class,
+                () -> productService.purchaseProducts(List.of(first, second), buyer.getEmail()));
+
+        // Assert: заказы и новые статусы товаров были отправлены в базу до списания
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertEquals(2, statistics.getEntityUpdateCount());
+        // ... и откатились вместе с транзакцией
+        for (Long productId : List.of(first, second)) {
+            Product product = productRepository.findById(productId).orElseThrow();
+            assertEquals(Product.ProductStatus.AVAILABLE, product.getStatus());
+            assertNull(product.getBuyer());
+            assertEquals(0, orderRepository.countByProductId(productId));
+        }
+        assertEquals(0, new BigDecimal("150.00").compareTo(
+                userRepository.findById(buyer.getId()).orElseThrow().getBalance()));
+    }
+
+    // Тест: собственный товар в корзине после чужого - не покупается ни один, баланс не меняется
+    @Test
+    void purchaseProducts_WhenOwnProductInCart_ShouldBuyNothing() {
+        // Arrange
+        String seller = saveUser(BigDecimal.ZERO).getEmail();
+        User buyer = saveUser(new BigDecimal("500.00"));
+        Long available = saveProduct(seller).getId();
+        Long own = saveProduct(buyer.getEmail()).getId();
+
+        // Act
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> productService.purchaseProducts(List.of(available, own), buyer.getEmail()));
+
+        // Assert
+        assertEquals("Нельзя покупать собственный товар", error.getMessage());
+        assertEquals(Product.ProductStatus.AVAILABLE, productRepository.findById(available).orElseThrow().getStatus());
+        assertEquals(0, orderRepository.countByProductId(available));
+        assertEquals(0, new BigDecimal("500.00").compareTo(
+                userRepository.findById(buyer.getId()).orElseThrow().getBalance()));
+    }
+
+    private User saveUser(BigDecimal balance) {
+        User user = new User();
+        user.setBalance(balance);
+        user.setEmail(UUID.randomUUID() + "@batch.test");
+        user.setPassword("hash");
+        user.setActive(true);
+        user.getRoles().add(Role.ROLE_USER);
+        return userRepository.save(user);
+    }
+
+    private Product saveProduct(String author) {
+        Product product = new Product();
+        product.setName("Guitar");
+        product.setAuthor(author);
+        product.setPrice(Money.parse("100.00"));
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,138 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.repositories;
+
+// Импорт моделей заказа, товара и пользователя
+import com.example.musicstore.models.LatestOrderStatus;
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Order;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.User;
+// Импорт перечисления статусов заказа
+import com.example.musicstore.models.enums.OrderStatus;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+// Импорт аннотации внедрения зависимостей
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Импорт классов для работы с датой, временем и коллекциями
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса планов запросов OrderRepository
+class OrderRepositoryTest extends QueryPlanTestSupport {
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private final LocalDateTime end = LocalDateTime.of(2024, 12, 31, 23, 59);
+
+    // Тест: строки отчета выбираются по индексу (status, order_date)
+    @Test
+    void findReportRows_ShouldUseStatusDateIndex() {
+        // Act
+        String sql = sqlOf(() -> orderRepository.findReportRows(OrderStatus.COMPLETED, start, end));
+
+        // Assert
+        assertUsesIndex(sql, "idx_orders_status_date", OrderStatus.COMPLETED.name(), start, end);
+    }
+
+    // Тест: завершенные заказы за период считаются по индексу (status, order_date)
+    @Test
+    void countCompletedOrdersByPeriod_ShouldUseStatusDateIndex() {
+        // Act
+        String sql = sqlOf(() -> orderRepository.countCompletedOrdersByPeriod(start, end));
+
+        // Assert
+        assertUsesIndex(sql, "idx_orders_status_date", start, end);
+    }
+
+    // Тест: заказы товара выбираются по индексу product_id (а не соединением с products и полным просмотром)
+    @Test
+    void findByProductId_ShouldUseProductIndex() {
+        // Act
+        String sql = sqlOf(() -> orderRepository.findByProductId(1L));
+
+        // Assert
+        assertIndexLookup(sql, "product_id", 1L);
+    }
+
+    // Тест: последний заказ товара ищется по индексу на product_id и читается одной строкой (LIMIT 1).
+    // H2 берет индекс ограничения FK, как в assertIndexLookup; MySQL - idx_orders_product_date, уже упорядоченный по дате
+    @Test
+    void findLatestStatusByProductId_ShouldReadOneRowByProductIndex() {
+        // Act
+        String sql = sqlOf(() -> orderRepository.findLatestStatusByProductId(1L));
+
+        // Assert
+        assertIndexLookup(sql, "product_id", 1L);
+        assertTrue(sql.toLowerCase().contains("fetch first") || sql.toLowerCase().contains("limit"),
+                "Запрос не ограничен одной строкой: " + sql);
+    }
+
+    // Тест: последним считается заказ с самой поздней датой, при равных датах - с большим id
+    @Test
+    void findLatestStatuses_ShouldReturnLatestOrderPerProduct() {
+        // Arrange
+        User user = new User();
+        user.setEmail("latest@example.com");
+        user.setPassword("hash");
+        userRepository.save(user);
+        Product first = saveProduct();
+        Product second = saveProduct();
+        Product withoutOrders = saveProduct();
+        LocalDateTime day = LocalDateTime.of(2024, 5, 1, 12, 0);
+        saveOrder(first, user, day.plusDays(1), OrderStatus.COMPLETED);
+        saveOrder(first, user, day, OrderStatus.CANCELLED);
+        saveOrder(second, user, day, OrderStatus.CONFIRMED);
+        saveOrder(second, user, day, OrderStatus.CANCELLED);
+
+        // Act
+        List<LatestOrderStatus> latest = orderRepository.findLatestStatuses(
+                List.of(first.getId(), second.getId(), withoutOrders.getId()));
+
+        // Assert
+        assertEquals(2, latest.size());
+        assertTrue(latest.contains(new LatestOrderStatus(first.getId(), OrderStatus.COMPLETED)));
+        assertTrue(latest.contains(new LatestOrderStatus(second.getId(), OrderStatus.CANCELLED)));
+        assertEquals(OrderStatus.COMPLETED, orderRepository.findLatestStatusByProductId(first.getId()).orElseThrow());
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findLatestStatusByProductId(second.getId()).orElseThrow());
+        assertTrue(orderRepository.findLatestStatusByProductId(withoutOrders.getId()).isEmpty());
+    }
+
+    // Тест: заказы пользователя выбираются по индексу на user_id (а не соединением с users и полным просмотром)
+    @Test
+    void findByUserIdAndStatusNotIn_ShouldUseUserIndex() {
+        // Act
+        String sql = sqlOf(() -> orderRepository.findByUserIdAndStatusNotIn(1L, List.of(OrderStatus.CANCELLED)));
+
+        // Assert
+        assertIndexLookup(sql, "user_id", 1L, OrderStatus.CANCELLED.name());
+    }
+
+    private Product saveProduct() {
+        Product product = new Product();
+        product.setName("Guitar");
+        product.setAuthor("seller@example.com");
+        product.setPrice(Money.parse("100.00"));
+        return productRepository.save(product);
+    }
+
+    private void saveOrder(Product product, User user, LocalDateTime date, OrderStatus status) {
+        Order order = new Order();
+        order.setProduct(product);
+        order.setUser(user);
+        order.setQuantity(1);
+        order.setTotalAmount(product.getPrice());
+        order.setOrderDate(date);
+        order.setStatus(status);
+        orderRepository.save(order);
+    }
+}
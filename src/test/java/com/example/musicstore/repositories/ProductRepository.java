@@ -0,0 +1,52 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.repositories;
+
+// Импорт модели товара
+import com.example.musicstore.models.Product;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+// Импорт аннотации внедрения зависимостей
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Импорт классов для работы с датой и временем
+import java.time.LocalDateTime;
+
+// Объявление тестового класса планов запросов ProductRepository
+class ProductRepositoryTest extends QueryPlanTestSupport {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Тест: просроченные брони ищутся по индексу (status, booking_expiry)
+    @Test
+    void findAllByStatusAndBookingExpiryBefore_ShouldUseStatusExpiryIndex() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+        // Act
+        String sql = sqlOf(() -> productRepository.findAllByStatusAndBookingExpiryBefore(Product.ProductStatus.BOOKED, now));
+
+        // Assert
+        assertUsesIndex(sql, "idx_products_status_expiry", Product.ProductStatus.BOOKED.name(), now);
+    }
+
+    // Тест: список авторов строится по индексу author
+    @Test
+    void findAllDistinctAuthors_ShouldUseAuthorIndex() {
+        // Act
+        String sql = sqlOf(() -> productRepository.findAllDistinctAuthors());
+
+        // Assert
+        assertUsesIndex(sql, "idx_products_author");
+    }
+
+    // Тест: поиск по точному названию использует индекс name
+    @Test
+    void findByName_ShouldUseNameIndex() {
+        // Act
+        String sql = sqlOf(() -> productRepository.findByName("Fender Guitar 1"));
+
+        // Assert
+        assertUsesIndex(sql, "idx_products_name", "Fender Guitar 1");
+    }
+}
@@ -0,0 +1,107 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.repositories;
+
+// Импорт главного класса приложения (репозитории и сущности)
+import com.example.musicstore.MusicstoreApplication.MusicstoreApplication;
+// Импорт интерфейса Hibernate для перехвата SQL
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+// Импорт аннотаций и классов Spring для тестов JPA
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+// Импорт классов для работы с коллекциями
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Основа тестов планов запросов: схема создается миграциями Flyway в H2 (режим MySQL),
+ * SQL запроса репозитория перехватывается и передается в EXPLAIN.
+ * Тест падает, если запрос перестал использовать свой индекс из V2__query_indexes.sql.
+ * Проверка схемы Hibernate (validate) здесь выключена: H2Dialect ждет varchar для enum-колонок,
+ * а миграции создают enum, как MySQL; схема проверяется при запуске на MySQL.
+ * Кеш второго уровня выключен: повторный запрос из кеша запросов не дошел бы до базы.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.musicstore.repositories.QueryPlanTestSupport$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = MusicstoreApplication.class)
+abstract class QueryPlanTestSupport {
+
+    // SQL, подготовленные Hibernate в текущем тесте
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Перехват SQL без изменений
+     */
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * SQL, который выполняет вызов репозитория
+     * @param call вызов репозитория (ровно один запрос)
+     * @return SQL запроса
+     */
+    protected String sqlOf(Runnable call) {
+        STATEMENTS.clear();
+        call.run();
+        assertEquals(1, STATEMENTS.size(), "Ожидался один запрос: " + STATEMENTS);
+        return STATEMENTS.get(0);
+    }
+
+    /**
+     * Проверка, что план запроса использует индекс
+     * @param sql SQL запроса
+     * @param index имя индекса из миграции
+     * @param params значения параметров запроса по порядку
+     */
+    protected void assertUsesIndex(String sql, String index, Object... params) {
+        String plan = explain(sql, params);
+        assertTrue(plan.contains(index.toLowerCase()), "Запрос не использует индекс " + index + ":\n" + plan);
+    }
+
+    /**
+     * Проверка, что строки таблицы ищутся по индексу на колонке внешнего ключа, а не полным просмотром.
+     * Имя индекса не проверяется: H2 берет индекс ограничения FK, а InnoDB заменяет его индексом из миграции
+     * @param sql SQL запроса
+     * @param column колонка внешнего ключа
+     * @param params значения параметров запроса по порядку
+     */
+    protected void assertIndexLookup(String sql, String column, Object... params) {
+        String plan = explain(sql, params);
+        // В плане H2 поиск по индексу выглядит как /* public.<индекс>: <колонка> = ?1 */
+        Pattern lookup = Pattern.compile("/\\* public\\.\\w+: " + Pattern.quote(column) + " = ");
+        assertTrue(lookup.matcher(plan).find(), "Запрос не ищет по индексу на " + column + ":\n" + plan);
+    }
+
+    private String explain(String sql, Object... params) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params);
+        assertNotNull(plan);
+        return plan.toLowerCase();
+    }
+}
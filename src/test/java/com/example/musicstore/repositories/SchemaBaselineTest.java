@@ -0,0 +1,87 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.repositories;
+
+// Импорт главного класса приложения (репозитории и сущности)
+import com.example.musicstore.MusicstoreApplication.MusicstoreApplication;
+// Импорт классов JPA для проверки, что контекст с проверкой схемы поднялся
+import jakarta.persistence.EntityManagerFactory;
+// Импорт аннотации JUnit для тестирования
+import org.junit.jupiter.api.Test;
+// Импорт аннотаций и классов Spring для тестов JPA
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ContextConfiguration;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Обновление существующей базы: схема, которую создавал ddl-auto=update по исходным сущностям,
+ * отмечается версией 1 (baseline-on-migrate), применяются миграции со второй, затем Hibernate проверяет
+ * схему (ddl-auto=validate, как в application.properties). Контекст не поднимется, если какая-то колонка
+ * старой схемы расходится с сущностями и ни одна миграция ее не исправила.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {MusicstoreApplication.class, SchemaBaselineTest.LegacySchema.class})
+class SchemaBaselineTest {
+
+    /**
+     * Перед миграциями создает старую схему, как на существующей базе
+     */
+    @TestConfiguration
+    static class LegacySchema {
+        @Bean
+        FlywayMigrationStrategy legacySchemaThenMigrate() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/legacy/ddl-auto-schema.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Тест: после baseline и миграций денежные колонки - DECIMAL(12,2), проверка схемы проходит
+    @Test
+    void baselineThenMigrate_ShouldAlignMoneyColumnsWithEntities() {
+        // Assert
+        assertTrue(entityManagerFactory.isOpen());
+        assertEquals("1", jdbcTemplate.queryForObject(
+                "SELECT version FROM flyway_schema_history WHERE type = 'BASELINE'", String.class));
+        assertMoneyColumn("products", "price");
+        assertMoneyColumn("orders", "total_amount");
+    }
+
+    private void assertMoneyColumn(String table, String column) {
+        String sql = "SELECT data_type, numeric_precision, numeric_scale FROM information_schema.columns "
+                + "WHERE table_name = ? AND column_name = ?";
+        jdbcTemplate.query(sql, rs -> {
+            // H2 хранит DECIMAL как NUMERIC
+            assertEquals("numeric", rs.getString("data_type").toLowerCase(), table + "." + column);
+            assertEquals(12, rs.getInt("numeric_precision"), table + "." + column);
+            assertEquals(2, rs.getInt("numeric_scale"), table + "." + column);
+        }, table, column);
+    }
+}
@@ -0,0 +1,261 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.repositories;
+
+// Импорт главного класса приложения (репозитории и сущности)
+import com.example.musicstore.MusicstoreApplication.MusicstoreApplication;
+// Импорт контроллера управления пользователями
+import com.example.musicstore.controller.AdminUserController;
+// Импорт моделей приложения
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.User;
+import com.example.musicstore.models.enums.OrderStatus;
+import com.example.musicstore.models.enums.Role;
+// Импорт сервисов приложения
+import com.example.musicstore.services.CurrentUserResolver;
+import com.example.musicstore.services.ProductService;
+import com.example.musicstore.services.UserDetailsCache;
+import com.example.musicstore.services.UserService;
+// Импорт классов JPA и Hibernate для проверки кеша второго уровня
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+// Импорт аннотаций и классов Spring для тестов JPA
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+// Импорт класса для обработки исключений ввода-вывода
+import java.io.IOException;
+// Импорт классов для работы с суммами и временем
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+// Импорт классов для работы с коллекциями
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Импорт статических методов для утверждений и моков
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Кеш второго уровня (Product, User, User.roles, кешируемые запросы ProductRepository) на H2:
+ * после изменений через сервисы и контроллеры, в том числе массовыми UPDATE/DELETE,
+ * из кеша читаются новые данные, а не старые, а изменение одного пользователя не сбрасывает кеш остальных.
+ * Тестовые транзакции выключены: каждый вызов фиксируется сам, как в приложении,
+ * иначе все чтения шли бы из одной сессии Hibernate мимо кеша второго уровня.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = MusicstoreApplication.class)
+@Import({ProductService.class, CurrentUserResolver.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    // Оплата корзины в этих тестах не участвует
+    @MockBean
+    private UserService userService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Кеш второго уровня (один CacheManager по ehcache.xml) общий для всех тестовых баз в JVM
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Тест: товар и счетчики по статусам из кеша меняются вместе с бронированием, отменой и покупкой
+    @Test
+    void productStatusChanges_ShouldNotLeaveStaleCacheEntries() throws IOException {
+        // Arrange
+        User seller = saveUser(Role.ROLE_USER);
+        User buyer = saveUser(Role.ROLE_USER);
+        Long productId = saveProduct(seller.getEmail()).getId();
+        long booked = productRepository.countByStatus(Product.ProductStatus.BOOKED);
+        assertEquals(Product.ProductStatus.AVAILABLE, productService.getProductById(productId).getStatus());
+
+        // Act & Assert: бронирование
+        productService.bookProduct(productId, buyer.getEmail());
+        Product product = productService.getProductById(productId);
+        assertEquals(Product.ProductStatus.BOOKED, product.getStatus());
+        assertEquals(buyer.getId(), product.getBookedBy().getId());
+        assertEquals(booked + 1, productRepository.countByStatus(Product.ProductStatus.BOOKED));
+
+        // Act & Assert: отмена брони
+        productService.cancelBooking(productId, buyer.getEmail());
+        product = productService.getProductById(productId);
+        assertEquals(Product.ProductStatus.AVAILABLE, product.getStatus());
+        assertNull(product.getBookedBy());
+        assertEquals(booked, productRepository.countByStatus(Product.ProductStatus.BOOKED));
+        assertCancelled(productId);
+
+        // Act & Assert: покупка
+        productService.purchaseProduct(productId, buyer.getEmail());
+        product = productService.getProductById(productId);
+        assertEquals(Product.ProductStatus.SOLD, product.getStatus());
+        assertEquals(buyer.getId(), product.getBuyer().getId());
+
+        // Товар читался из кеша второго уровня, а не только из базы
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, productId));
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+
+        // Act & Assert: удаление вместе с заказами
+        productService.deleteProduct(productId);
+        assertTrue(productRepository.findById(productId).isEmpty());
+        assertEquals(0, orderRepository.countByProductId(productId));
+    }
+
+    // Тест: массовая отмена броней и массовое удаление не оставляют старых товаров в кеше
+    @Test
+    void bulkOperations_ShouldNotLeaveStaleCacheEntries() throws IOException {
+        // Arrange
+        User seller = saveUser(Role.ROLE_USER);
+        User buyer = saveUser(Role.ROLE_USER);
+        Long first = saveProduct(seller.getEmail()).getId();
+        Long second = saveProduct(seller.getEmail()).getId();
+        Long available = saveProduct(seller.getEmail()).getId();
+        productService.bookProduct(first, buyer.getEmail());
+        productService.bookProduct(second, buyer.getEmail());
+        assertEquals(Product.ProductStatus.BOOKED, productService.getProductById(first).getStatus());
+
+        // Act & Assert: отмена броней (свободный товар пропускается)
+        assertEquals(2, productService.cancelBookings(List.of(first, second, available)));
+        for (Long id : List.of(first, second)) {
+            Product product = productService.getProductById(id);
+            assertEquals(Product.ProductStatus.AVAILABLE, product.getStatus());
+            assertNull(product.getBookedBy());
+            assertNull(product.getBookingExpiry());
+            assertCancelled(id);
+        }
+
+        // Act & Assert: удаление
+        assertEquals(3, productService.deleteProducts(List.of(first, second, available)));
+        for (Long id : List.of(first, second, available)) {
+            assertTrue(productRepository.findById(id).isEmpty());
+            assertEquals(0, orderRepository.countByProductId(id));
+        }
+    }
+
+    // Тест: повторный запрос авторов берется из кеша запросов, новый автор сбрасывает результат
+    @Test
+    void findAllDistinctAuthors_ShouldBeCachedUntilProductsChange() {
+        // Arrange
+        List<String> authors = productRepository.findAllDistinctAuthors();
+
+        // Act
+        List<String> cached = productRepository.findAllDistinctAuthors();
+        String author = saveUser(Role.ROLE_USER).getEmail();
+        saveProduct(author);
+        List<String> refreshed = productRepository.findAllDistinctAuthors();
+
+        // Assert
+        assertEquals(authors, cached);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(refreshed.contains(author));
+        assertEquals(authors.size() + 1, refreshed.size());
+    }
+
+    // Тест: новые роли пользователя видны сразу после updateUserRoles, хотя пользователь и роли были в кеше
+    @Test
+    void updateUserRoles_ShouldRefreshCachedRoles() {
+        // Arrange
+        AdminUserController controller = new AdminUserController(mock(UserService.class), userRepository,
+                mock(PasswordEncoder.class), currentUserResolver, mock(UserDetailsCache.class));
+        Long userId = saveUser(Role.ROLE_USER).getId();
+        assertEquals(Set.of(Role.ROLE_USER), userRepository.findById(userId).orElseThrow().getRoles());
+        assertTrue(entityManagerFactory.getCache().contains(User.class, userId));
+
+        // Act
+        controller.updateUserRoles(userId, List.of(Role.ROLE_ADMIN.name()), new RedirectAttributesModelMap());
+
+        // Assert
+        assertEquals(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN), userRepository.findById(userId).orElseThrow().getRoles());
+    }
+
+    // Тест: списание и пополнение баланса убирают из кеша только этого пользователя, остальные остаются
+    @Test
+    void balanceChanges_ShouldEvictOnlyChangedUser() {
+        // Arrange
+        Long changedId = saveUser(Role.ROLE_USER).getId();
+        Long otherId = saveUser(Role.ROLE_USER).getId();
+        String email = userRepository.findById(changedId).orElseThrow().getEmail();
+        userRepository.findById(otherId).orElseThrow();
+        Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(User.class, changedId));
+        assertTrue(cache.contains(User.class, otherId));
+
+        // Act
+        userRepository.addBalance(email, new BigDecimal("300.00"), LocalDateTime.now());
+        userRepository.deductBalance(email, new BigDecimal("100.00"), LocalDateTime.now());
+        userRepository.updatePassword(email, "rehashed");
+
+        // Assert: другой пользователь и его роли по-прежнему в кеше
+        assertFalse(cache.contains(User.class, changedId));
+        assertTrue(cache.contains(User.class, otherId));
+        statistics.clear();
+        assertEquals(Set.of(Role.ROLE_USER), userRepository.findById(otherId).orElseThrow().getRoles());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        // Измененный пользователь читается из базы уже новым
+        User changed = userRepository.findById(changedId).orElseThrow();
+        assertEquals(0, new BigDecimal("200.00").compareTo(changed.getBalance()));
+        assertEquals("rehashed", changed.getPassword());
+    }
+
+    private void assertCancelled(Long productId) {
+        assertFalse(orderRepository.findByProductId(productId).isEmpty());
+        assertEquals(orderRepository.countByProductId(productId),
+                orderRepository.countByProductIdAndStatus(productId, OrderStatus.CANCELLED));
+    }
+
+    private User saveUser(Role role) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@cache.test");
+        user.setPassword("hash");
+        user.setActive(true);
+        user.getRoles().add(role);
+        return userRepository.save(user);
+    }
+
+    private Product saveProduct(String author) {
+        Product product = new Product();
+        product.setName("Guitar");
+        product.setAuthor(author);
+        product.setPrice(Money.parse("100.00"));
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,111 @@
+// Объявление пакета, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт моделей корзины, денежной суммы, товара и пользователя
+import com.example.musicstore.models.Cart;
+import com.example.musicstore.models.CartValidationResult;
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.User;
+// Импорт репозитория продуктов
+import com.example.musicstore.repositories.ProductRepository;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций Mockito для создания mock-объектов
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+// Импорт классов для работы с коллекциями
+import java.util.List;
+import java.util.Set;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+// Импорт статических методов для работы с Mockito
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для CartValidationService
+class CartValidationServiceTest {
+
+    // Создание mock-объекта для репозитория продуктов
+    @Mock
+    private ProductRepository productRepository;
+
+    // Внедрение mock-объектов в тестируемый сервис
+    @InjectMocks
+    private CartValidationService cartValidationService;
+
+    // Тестовая корзина и товары
+    private Cart cart;
+    private Product cheap;
+    private Product booked;
+
+    // Метод, выполняемый перед каждым тестом для инициализации данных
+    @BeforeEach
+    void setUp() {
+        cheap = product(1L, "Cheap", "10.00");
+        booked = product(2L, "Booked", "20.00");
+
+        cart = new Cart();
+        cart.addItem(cheap);
+        cart.addItem(booked);
+    }
+
+    // Тест: все товары загружаются одним запросом, изменения цен и недоступные товары собираются за один проход
+    @Test
+    void revalidate_ShouldReportPriceChangesAndUnavailableItemsWithSingleQuery() {
+        // Arrange - цена первого товара выросла, второй забронирован другим пользователем
+        cheap.setPrice(Money.parse("12.50"));
+        User other = new User();
+        other.setEmail("other@example.com");
+        booked.setStatus(Product.ProductStatus.BOOKED);
+        booked.setBookedBy(other);
+        when(productRepository.findAllById(any())).thenReturn(List.of(cheap, booked));
+
+        // Act
+        CartValidationResult result = cartValidationService.revalidate(
+                cart, "buyer@example.com", CartValidationService.CheckoutMode.BUY);
+
+        // Assert
+        assertFalse(result.isValid());
+        assertEquals(1, result.getPriceChanges().size());
+        assertEquals(Money.parse("10.00"), result.getPriceChanges().get(0).getOldPrice());
+        assertEquals(Money.parse("12.50"), result.getPriceChanges().get(0).getNewPrice());
+        assertEquals(1, result.getUnavailableItems().size());
+        assertEquals(2L, result.getUnavailableItems().get(0).getProductId());
+        // Цена в корзине обновлена, итог пересчитан
+        assertEquals(Money.parse("32.50"), cart.getTotalAmount());
+        // Один запрос на всю корзину
+        verify(productRepository, times(1)).findAllById(Set.of(1L, 2L));
+        verifyNoMoreInteractions(productRepository);
+    }
+
+    // Тест: удаленный товар и неизменная корзина
+    @Test
+    void revalidate_WhenProductDeleted_ShouldReportUnavailable() {
+        when(productRepository.findAllById(any())).thenReturn(List.of(cheap));
+
+        CartValidationResult result = cartValidationService.revalidate(
+                cart, "buyer@example.com", CartValidationService.CheckoutMode.RESERVE);
+
+        assertTrue(result.getPriceChanges().isEmpty());
+        assertEquals(1, result.getUnavailableItems().size());
+        assertEquals("Booked", result.getUnavailableItems().get(0).getProductName());
+    }
+
+    // Вспомогательный метод создания товара
+    private static Product product(Long id, String name, String price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(Money.parse(price));
+        product.setAuthor("author@example.com");
+        return product;
+    }
+}
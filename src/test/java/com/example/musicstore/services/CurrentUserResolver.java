@@ -0,0 +1,134 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт состояния реплики для чтения
+import com.example.musicstore.configurations.ReplicaLagMonitor;
+// Импорт модели пользователя
+import com.example.musicstore.models.User;
+// Импорт репозитория пользователей
+import com.example.musicstore.repositories.UserRepository;
+// Импорт исключения для сущности не найденной в базе данных
+import jakarta.persistence.EntityNotFoundException;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций и классов Mockito
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт тестового HTTP-запроса и контекста запроса Spring
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+// Импорт классов для работы с временем и Optional
+import java.time.Duration;
+import java.util.Optional;
+
+// Импорт статических методов для утверждений и Mockito
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для CurrentUserResolver
+class CurrentUserResolverTest {
+
+    // Создание mock-объекта для репозитория пользователей
+    @Mock
+    private UserRepository userRepository;
+
+    // Тестируемый кеш; время жизни нулевое, чтобы проверять только кеш запроса
+    private CurrentUserResolver resolver;
+
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CurrentUserResolver(userRepository, 100, Duration.ZERO);
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // Тест: в рамках одного HTTP-запроса пользователь загружается один раз
+    @Test
+    void resolve_WithinRequest_ShouldQueryOnce() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        User first = resolver.resolve("test@example.com");
+        User second = resolver.resolve("test@example.com");
+
+        // Assert
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+    }
+
+    // Тест: после evict пользователь загружается заново (например, после списания баланса)
+    @Test
+    void evict_ShouldReloadUser() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        resolver.resolve("test@example.com");
+
+        // Act
+        resolver.evict("test@example.com");
+        resolver.resolve("test@example.com");
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    // Тест: между запросами пользователь берется из кеша, пока не истекло время жизни
+    @Test
+    void resolve_AcrossRequests_ShouldUseRememberedUser() {
+        // Arrange - пользователь загружен при входе
+        CurrentUserResolver cached = new CurrentUserResolver(userRepository, 100, Duration.ofMinutes(1));
+        cached.remember(user);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Act
+        User resolved = cached.resolve("test@example.com");
+
+        // Assert
+        assertSame(user, resolved);
+        verifyNoInteractions(userRepository);
+    }
+
+    // Тест: с репликой пользователь, загруженный вскоре после записи, между запросами не запоминается
+    @Test
+    void remember_WhenReplicaReadsNotCacheable_ShouldSkip() {
+        // Arrange
+        CurrentUserResolver cached = new CurrentUserResolver(userRepository, 100, Duration.ofMinutes(1));
+        ReplicaLagMonitor monitor = mock(ReplicaLagMonitor.class);
+        when(monitor.isReadCacheable()).thenReturn(false);
+        cached.setReplicaLagMonitor(monitor);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        cached.remember(user);
+
+        // Act - следующий HTTP-запрос
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        cached.resolve("test@example.com");
+
+        // Assert
+        verify(userRepository).findByEmail("test@example.com");
+    }
+
+    // Тест: неизвестный пользователь
+    @Test
+    void resolve_WhenUserNotFound_ShouldThrow() {
+        // Arrange
+        when(userRepository.findByEmail("none@example.com")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> resolver.resolve("none@example.com"));
+    }
+}
@@ -41,6 +41,10 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    // Создание mock-объекта для кеша текущего пользователя
+    @Mock
+    private CurrentUserResolver currentUserResolver;
+
     // Внедрение mock-объектов в тестируемый сервис деталей пользователя
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
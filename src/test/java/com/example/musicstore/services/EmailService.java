@@ -11,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 // Импорт расширения Mockito для JUnit 5
 import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт компонента метрик
+import com.example.musicstore.configurations.StoreMetrics;
 // Импорт интерфейса JavaMailSender для отправки email
 import org.springframework.mail.javamail.JavaMailSender;
 // Импорт интерфейса TemplateEngine для обработки шаблонов
@@ -23,7 +25,9 @@ import jakarta.mail.internet.MimeMessage;
 
 // Импорт статических методов для работы с Mockito
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 // Аннотация для интеграции Mockito с JUnit 5
@@ -39,6 +43,10 @@ class EmailServiceTest {
     @Mock
     private TemplateEngine templateEngine;
 
+    // Создание mock-объекта для метрик
+    @Mock
+    private StoreMetrics storeMetrics;
+
     // Создание mock-объекта для email сообщения
     @Mock
     private MimeMessage mimeMessage;
@@ -65,6 +73,8 @@ class EmailServiceTest {
         verify(templateEngine).process(anyString(), any(Context.class));
         // Проверка, что метод send() был вызван для отправки email
         verify(mailSender).send(any(MimeMessage.class));
+        // Проверка, что время успешной отправки записано в метрики
+        verify(storeMetrics).email(eq("emails/welcome-email"), eq(true), anyLong());
     }
 
     // Тест для отправки уведомительного email
@@ -1,6 +1,10 @@
 // Объявление пакета, в котором находится тестовый класс
 package com.example.musicstore.services;
 
+// Импорт события изменения завершенных заказов
+import com.example.musicstore.events.CompletedOrderChangedEvent;
+// Импорт модели Money
+import com.example.musicstore.models.Money;
 // Импорт модели Order
 import com.example.musicstore.models.Order;
 // Импорт модели Product
@@ -25,10 +29,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 // Импорт расширения Mockito для JUnit 5
 import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт интерфейса публикации событий Spring
+import org.springframework.context.ApplicationEventPublisher;
 
-// Импорт класса для работы с большими десятичными числами
-import java.math.BigDecimal;
 // Импорт класса для работы с датой и временем
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 // Импорт класса для работы со списками
 import java.util.List;
@@ -66,6 +71,10 @@ class OrderServiceTest {
     @Mock
     private EmailService emailService;
 
+    // Создание mock-объекта для публикации событий
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     // Внедрение mock-объектов в тестируемый сервис заказов
     @InjectMocks
     private OrderService orderService;
@@ -87,7 +96,7 @@ class OrderServiceTest {
         // Установка названия продукта
         testProduct.setName("Test Guitar");
         // Установка цены продукта
-        testProduct.setPrice(1000.0);
+        testProduct.setPrice(Money.parse("1000.00"));
 
         // Создание нового экземпляра пользователя
         testUser = new User();
@@ -107,7 +116,7 @@ class OrderServiceTest {
         // Установка количества товара в заказе
         testOrder.setQuantity(2);
         // Установка общей суммы заказа
-        testOrder.setTotalAmount(BigDecimal.valueOf(2000.0));
+        testOrder.setTotalAmount(Money.parse("2000.00"));
         // Установка статуса заказа
         testOrder.setStatus(OrderStatus.PENDING);
         // Установка даты создания заказа
@@ -139,7 +148,7 @@ class OrderServiceTest {
         // Проверка, что количество товара соответствует ожидаемому
         assertEquals(2, result.getQuantity());
         // Проверка, что общая сумма заказа соответствует ожидаемой
-        assertEquals(BigDecimal.valueOf(2000.0), result.getTotalAmount());
+        assertEquals(Money.parse("2000.00"), result.getTotalAmount());
         // Проверка, что статус заказа соответствует ожидаемому
         assertEquals(OrderStatus.PENDING, result.getStatus());
         // Проверка, что дата заказа установлена
@@ -161,7 +170,7 @@ class OrderServiceTest {
     void createOrder_ShouldCalculateTotalAmountCorrectly() {
         // Arrange (подготовка) - настройка поведения mock-репозиториев
         // Установка новой цены продукта для теста расчета
-        testProduct.setPrice(500.0);
+        testProduct.setPrice(Money.parse("500.00"));
         // Когда вызывается findById(1L) для продукта, возвращать Optional с тестовым продуктом
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
         // Когда вызывается findById(1L) для пользователя, возвращать Optional с тестовым пользователем
@@ -182,7 +191,7 @@ class OrderServiceTest {
 
         // Assert (проверка) - проверка ожидаемых результатов
         // Проверка правильности расчета общей суммы: 500 * 3 = 1500
-        assertEquals(BigDecimal.valueOf(1500.0), result.getTotalAmount());
+        assertEquals(Money.parse("1500.00"), result.getTotalAmount());
     }
 
     // Тест для обработки ситуации, когда продукт не найден
@@ -239,6 +248,8 @@ class OrderServiceTest {
         verify(orderRepository).save(any(Order.class));
         // Проверка, что метод синхронизации статуса продукта был вызван
         verify(productService).syncProductStatusFromOrders(1L);
+        // Проверка, что опубликовано событие для сброса кеша отчетов за дату заказа
+        verify(eventPublisher).publishEvent(new CompletedOrderChangedEvent(LocalDate.now()));
     }
 
     // Тест для получения заказа по ID, когда заказ существует
@@ -0,0 +1,87 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт моделей товара
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Product;
+import com.example.musicstore.models.ProductDto;
+// Импорт репозитория продуктов
+import com.example.musicstore.repositories.ProductRepository;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций Mockito для создания mock-объектов
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт утилиты для установки полей, внедряемых через @Value
+import org.springframework.test.util.ReflectionTestUtils;
+
+// Импорт классов для работы с коллекциями
+import java.util.List;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+// Импорт статических методов для работы с Mockito
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для ProductApiService
+class ProductApiServiceTest {
+
+    // Создание mock-объекта для репозитория продуктов
+    @Mock
+    private ProductRepository productRepository;
+
+    // Внедрение mock-объектов в тестируемый сервис
+    @InjectMocks
+    private ProductApiService productApiService;
+
+    // Метод, выполняемый перед каждым тестом: страницы по 2 товара
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productApiService, "pageSize", 2);
+    }
+
+    // Тест: страницы запрашиваются по id последнего товара, неполная страница завершает поток
+    @Test
+    void streamAll_ShouldPageByLastIdUntilShortPage() {
+        // Arrange
+        when(productRepository.findDtoPage(eq(0L), any())).thenReturn(List.of(dto(1L), dto(2L)));
+        when(productRepository.findDtoPage(eq(2L), any())).thenReturn(List.of(dto(5L)));
+
+        // Act
+        List<ProductDto> result = productApiService.streamAll().collectList().block();
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 5L), result.stream().map(ProductDto::getId).toList());
+        verify(productRepository, times(2)).findDtoPage(any(), any());
+    }
+
+    // Тест: клиент, прочитавший только начало каталога, не вызывает загрузку остальных страниц
+    @Test
+    void streamAll_WhenClientReadsFirstItems_ShouldNotLoadWholeCatalog() {
+        // Arrange - в каталоге "бесконечно" много полных страниц
+        when(productRepository.findDtoPage(any(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return List.of(dto(afterId + 1), dto(afterId + 2));
+        });
+
+        // Act
+        List<ProductDto> result = productApiService.streamAll().take(3).collectList().block();
+
+        // Assert - загружены только страницы, нужные для 3 товаров (плюс не больше одной вперед)
+        assertEquals(3, result.size());
+        verify(productRepository, atMost(3)).findDtoPage(any(), any());
+    }
+
+    // Вспомогательный метод создания DTO товара
+    private static ProductDto dto(Long id) {
+        return new ProductDto(id, "Product " + id, null, Money.parse("10.00"), "author@example.com",
+                null, Product.ProductStatus.AVAILABLE);
+    }
+}
@@ -0,0 +1,102 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт моделей приложения
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.Product;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+// Импорт классов Spring Security для CSRF-токена
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+// Импорт классов Thymeleaf для рендера шаблонов из classpath
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+// Импорт классов для работы с коллекциями
+import java.util.List;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса для ProductCardCache
+class ProductCardCacheTest {
+
+    // Тестовый кеш на две карточки с настоящим шаблоном fragments/product-card
+    private final ProductCardCache cache = new ProductCardCache(templateEngine(), 2);
+
+    // Тест: карточка содержит данные товара (с экранированием) и CSRF-токен текущего запроса
+    @Test
+    void cards_ShouldRenderProductAndSubstituteCsrfToken() {
+        // Arrange
+        Product product = product(1L, "Guitar <Fender>");
+
+        // Act
+        String card = cache.cards(List.of(product), csrf("token-1")).get(0);
+
+        // Assert
+        assertTrue(card.contains("Guitar &lt;Fender&gt;"));
+        assertTrue(card.contains("/cart/add/1"));
+        assertTrue(card.contains("name=\"_csrf\" value=\"token-1\""));
+        assertFalse(card.contains(ProductCardCache.CSRF_MARKER));
+    }
+
+    // Тест: неизменный товар берется из кеша, а токен у каждого запроса свой
+    @Test
+    void cards_WhenProductUnchanged_ShouldReuseCachedHtml() {
+        // Arrange
+        Product product = product(1L, "Guitar");
+        String first = cache.card(product);
+
+        // Act
+        String second = cache.card(product);
+        String otherSession = cache.cards(List.of(product), csrf("token-2")).get(0);
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(otherSession.contains("value=\"token-2\""));
+    }
+
+    // Тест: изменение показанного поля (статус) дает новую карточку без явного сброса
+    @Test
+    void cards_WhenProductChanged_ShouldRenderNewVersion() {
+        // Arrange
+        Product product = product(1L, "Guitar");
+        String available = cache.card(product);
+
+        // Act
+        product.setStatus(Product.ProductStatus.SOLD);
+        String sold = cache.card(product);
+
+        // Assert
+        assertTrue(available.contains("/cart/add/1"));
+        assertTrue(sold.contains("Продан"));
+        assertFalse(sold.contains("/cart/add/1"));
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+
+    private static CsrfToken csrf(String token) {
+        return new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", token);
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setAuthor("seller@test");
+        product.setDescription("Описание");
+        product.setPrice(Money.parse("100.00"));
+        return product;
+    }
+}
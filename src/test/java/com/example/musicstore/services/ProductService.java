@@ -1,6 +1,10 @@
 // Объявление пакета, в котором находится тестовый класс
 package com.example.musicstore.services;
 
+// Импорт модели статуса последнего заказа
+import com.example.musicstore.models.LatestOrderStatus;
+// Импорт модели Money
+import com.example.musicstore.models.Money;
 // Импорт модели Product
 import com.example.musicstore.models.Product;
 // Импорт модели User
@@ -11,8 +15,6 @@ import com.example.musicstore.models.enums.OrderStatus;
 import com.example.musicstore.repositories.OrderRepository;
 // Импорт репозитория продуктов
 import com.example.musicstore.repositories.ProductRepository;
-// Импорт репозитория пользователей
-import com.example.musicstore.repositories.UserRepository;
 // Импорт исключения для сущности не найденной в базе данных
 import jakarta.persistence.EntityNotFoundException;
 // Импорт аннотаций JUnit для тестирования
@@ -23,6 +25,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт интерфейса публикации событий Spring
+import org.springframework.context.ApplicationEventPublisher;
 // Импорт класса для работы с загружаемыми файлами
 import org.springframework.web.multipart.MultipartFile;
 
@@ -48,9 +52,9 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
-    // Создание mock-объекта для репозитория пользователей
+    // Создание mock-объекта для получения текущего пользователя
     @Mock
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
 
     // Создание mock-объекта для репозитория заказов
     @Mock
@@ -60,6 +64,10 @@ class ProductServiceTest {
     @Mock
     private MultipartFile multipartFile;
 
+    // Создание mock-объекта для публикации событий
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     // Внедрение mock-объектов в тестируемый сервис
     @InjectMocks
     private ProductService productService;
@@ -79,7 +87,7 @@ class ProductServiceTest {
         // Установка названия продукта
         testProduct.setName("Test Product");
         // Установка цены продукта
-        testProduct.setPrice(100.0);
+        testProduct.setPrice(Money.parse("100.00"));
         // Установка автора продукта (email пользователя)
         testProduct.setAuthor("author@example.com");
 
@@ -214,8 +222,8 @@ class ProductServiceTest {
         // Arrange (подготовка) - настройка поведения mock-репозиториев
         // Когда вызывается findById(1L), возвращать Optional с тестовым продуктом
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        // Когда вызывается findByProductId(1L), возвращать пустой список заказов
-        when(orderRepository.findByProductId(1L)).thenReturn(List.of());
+        // Когда вызывается deleteByProductIds, сообщать об удалении двух заказов
+        when(orderRepository.deleteByProductIds(List.of(1L))).thenReturn(2);
 
         // Act (действие) - вызов тестируемого метода
         // Удаление продукта по ID
@@ -224,9 +232,67 @@ class ProductServiceTest {
         // Assert (проверка) - проверка ожидаемых результатов
         // Проверка, что метод findById() был вызван для проверки существования продукта
         verify(productRepository).findById(1L);
-        // Проверка, что метод поиска заказов был вызван для проверки связанных заказов
-        verify(orderRepository).findByProductId(1L);
+        // Проверка, что заказы удалены одним запросом, без загрузки каждого заказа
+        verify(orderRepository).deleteByProductIds(List.of(1L));
+        verify(orderRepository, never()).findByProductId(any());
         // Проверка, что метод deleteById() был вызван для удаления продукта
         verify(productRepository).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    // Тест для массовой отмены броней: обновляются только забронированные товары из списка
+    @Test
+    void cancelBookings_ShouldReleaseOnlyBookedProducts() {
+        // Arrange
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(productRepository.findBookedIds(ids)).thenReturn(List.of(2L));
+        when(orderRepository.cancelByProductIds(List.of(2L))).thenReturn(5);
+        when(productRepository.releaseBookings(List.of(2L))).thenReturn(1);
+
+        // Act
+        int released = productService.cancelBookings(ids);
+
+        // Assert
+        assertEquals(1, released);
+        verify(orderRepository).cancelByProductIds(List.of(2L));
+        verify(productRepository).releaseBookings(List.of(2L));
+    }
+
+    // Тест для массовой отмены броней: без забронированных товаров изменений нет
+    @Test
+    void cancelBookings_WhenNothingBooked_ShouldNotUpdate() {
+        // Arrange
+        when(productRepository.findBookedIds(List.of(1L))).thenReturn(List.of());
+
+        // Act
+        int released = productService.cancelBookings(List.of(1L));
+
+        // Assert
+        assertEquals(0, released);
+        verify(orderRepository, never()).cancelByProductIds(any());
+        verify(productRepository, never()).releaseBookings(any());
+    }
+
+    // Тест для синхронизации статусов многих товаров по последним заказам
+    @Test
+    void syncProductStatusesFromOrders_ShouldUpdateOnlyChangedProducts() {
+        // Arrange
+        Product sold = new Product();
+        sold.setId(2L);
+        sold.setStatus(Product.ProductStatus.SOLD);
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(orderRepository.findLatestStatuses(ids)).thenReturn(List.of(
+                new LatestOrderStatus(1L, OrderStatus.CONFIRMED),
+                new LatestOrderStatus(2L, OrderStatus.COMPLETED)));
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct, sold));
+
+        // Act
+        int changed = productService.syncProductStatusesFromOrders(ids);
+
+        // Assert
+        assertEquals(1, changed);
+        assertEquals(Product.ProductStatus.BOOKED, testProduct.getStatus());
+        verify(productRepository).save(testProduct);
+        verify(productRepository, never()).save(sold);
+        verify(orderRepository, never()).findByProductId(any());
+    }
+}
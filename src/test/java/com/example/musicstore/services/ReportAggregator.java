@@ -0,0 +1,86 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт моделей отчетов
+import com.example.musicstore.models.AuthorStats;
+import com.example.musicstore.models.Money;
+import com.example.musicstore.models.OrderReportRow;
+import com.example.musicstore.models.RevenueByPeriod;
+import com.example.musicstore.models.SalesByDay;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+
+// Импорт классов для работы с датой и временем
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+// Импорт интерфейса списка
+import java.util.List;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса для ReportAggregator
+class ReportAggregatorTest {
+
+    // Период отчета
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+
+    // Тест: один проход дает выручку по дням, продажи по дням, статистику авторов и итоги
+    @Test
+    void add_ShouldAggregateDaysAuthorsAndTotals() {
+        // Arrange
+        ReportAggregator aggregator = new ReportAggregator(START, END);
+
+        // Act - два заказа 5 марта, один 1 марта, один без автора и количества 31 марта
+        aggregator.add(row(LocalDateTime.of(2024, 3, 5, 10, 0), "100.00", 2, "alice"));
+        aggregator.add(row(LocalDateTime.of(2024, 3, 5, 23, 59), "50.01", 1, "bob"));
+        aggregator.add(row(LocalDateTime.of(2024, 3, 1, 0, 0), "200.00", 1, "alice"));
+        aggregator.add(row(LocalDateTime.of(2024, 3, 31, 12, 0), "10.00", null, null));
+
+        // Assert - дни по возрастанию, пустые дни пропущены
+        List<RevenueByPeriod> revenue = aggregator.revenueByPeriod();
+        assertEquals(3, revenue.size());
+        assertEquals(LocalDate.of(2024, 3, 1), revenue.get(0).getPeriod());
+        assertEquals(LocalDate.of(2024, 3, 5), revenue.get(1).getPeriod());
+        assertEquals(Money.parse("150.01"), revenue.get(1).getRevenue());
+        assertEquals(2L, revenue.get(1).getSalesCount());
+        // 150.01 / 2 = 75.005 -> 75.01 (HALF_UP)
+        assertEquals(Money.parse("75.01"), revenue.get(1).getAverageOrderValue());
+
+        List<SalesByDay> sales = aggregator.salesByDay();
+        assertEquals(3, sales.size());
+        assertEquals(LocalDate.of(2024, 3, 31), sales.get(2).getDate());
+        assertEquals(Money.parse("10.00"), sales.get(2).getRevenue());
+
+        // Заказ без автора не учитывается в статистике авторов
+        List<AuthorStats> authors = aggregator.authorStats();
+        assertEquals(2, authors.size());
+        assertEquals("alice", authors.get(0).getAuthor());
+        assertEquals(2L, authors.get(0).getSalesCount());
+        assertEquals(Money.parse("300.00"), authors.get(0).getTotalRevenue());
+        // 300.00 / 350.01 = 85.71%
+        assertEquals(85.71, authors.get(0).getMarketShare());
+        assertEquals(14.29, authors.get(1).getMarketShare());
+
+        // Заказ без количества считается как 1
+        assertEquals(4L, aggregator.getTotalOrders());
+        assertEquals(5L, aggregator.getTotalQuantity());
+        assertEquals(Money.parse("360.01"), aggregator.getTotalRevenue());
+    }
+
+    // Тест: заказ вне периода отчета отклоняется
+    @Test
+    void add_WhenOutsidePeriod_ShouldThrow() {
+        ReportAggregator aggregator = new ReportAggregator(START, END);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> aggregator.add(row(LocalDateTime.of(2024, 4, 1, 0, 0), "1.00", 1, "alice")));
+        assertEquals(0L, aggregator.getTotalOrders());
+    }
+
+    // Вспомогательный метод создания проекции заказа
+    private static OrderReportRow row(LocalDateTime date, String amount, Integer quantity, String author) {
+        return new OrderReportRow(date, Money.parse(amount), quantity, author);
+    }
+}
@@ -0,0 +1,100 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт события изменения завершенных заказов
+import com.example.musicstore.events.CompletedOrderChangedEvent;
+// Импорт модели данных отчета
+import com.example.musicstore.models.ReportData;
+// Импорт реестра метрик в памяти
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+
+// Импорт классов для работы с датой и временем
+import java.time.Duration;
+import java.time.LocalDate;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса для ReportCache
+class ReportCacheTest {
+
+    // Тестовый кеш на две записи
+    private final ReportCache cache = new ReportCache(2, Duration.ofHours(1), Duration.ofHours(1));
+
+    // Тест: событие сбрасывает только отчеты, в период которых попадает дата заказа
+    @Test
+    void onCompletedOrderChanged_ShouldEvictOnlyRangesContainingOrderDay() {
+        // Arrange
+        ReportCache.Key march = key("2024-03-01", "2024-03-31");
+        ReportCache.Key april = key("2024-04-01", "2024-04-30");
+        cache.put(march, new ReportData(), cache.version());
+        cache.put(april, new ReportData(), cache.version());
+
+        // Act
+        cache.onCompletedOrderChanged(new CompletedOrderChangedEvent(LocalDate.parse("2024-04-15")));
+
+        // Assert
+        assertNotNull(cache.get(march));
+        assertNull(cache.get(april));
+    }
+
+    // Тест: отчет, построенный до изменения заказов, в кеш не попадает
+    @Test
+    void put_WhenDataChangedDuringBuild_ShouldNotStore() {
+        // Arrange - версия запомнена до построения отчета
+        ReportCache.Key march = key("2024-03-01", "2024-03-31");
+        long version = cache.version();
+
+        // Act - во время построения завершился заказ
+        cache.onCompletedOrderChanged(new CompletedOrderChangedEvent(LocalDate.parse("2024-03-10")));
+        cache.put(march, new ReportData(), version);
+
+        // Assert
+        assertNull(cache.get(march));
+    }
+
+    // Тест: попадания и промахи выдаются в метриках cache.gets
+    @Test
+    void bindTo_ShouldExposeHitsAndMisses() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        ReportCache.Key march = key("2024-03-01", "2024-03-31");
+
+        // Act - один промах, затем два попадания
+        cache.get(march);
+        cache.put(march, new ReportData(), cache.version());
+        cache.get(march);
+        cache.get(march);
+
+        // Assert
+        assertEquals(2.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").gauge().value());
+    }
+
+    // Тест: при переполнении вытесняется запись, к которой дольше всего не обращались
+    @Test
+    void put_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        ReportCache.Key first = key("2024-01-01", "2024-01-31");
+        ReportCache.Key second = key("2024-02-01", "2024-02-29");
+        ReportCache.Key third = key("2024-03-01", "2024-03-31");
+        cache.put(first, new ReportData(), cache.version());
+        cache.put(second, new ReportData(), cache.version());
+
+        // Обращение к первой записи делает вторую самой старой
+        cache.get(first);
+        cache.put(third, new ReportData(), cache.version());
+
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(third));
+    }
+
+    // Вспомогательный метод создания ключа без фильтра по автору
+    private static ReportCache.Key key(String start, String end) {
+        return new ReportCache.Key(LocalDate.parse(start), LocalDate.parse(end), null);
+    }
+}
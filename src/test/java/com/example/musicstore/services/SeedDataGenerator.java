@@ -0,0 +1,61 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт перечисления статусов заказа
+import com.example.musicstore.models.enums.OrderStatus;
+// Импорт аннотации JUnit для тестирования
+import org.junit.jupiter.api.Test;
+
+// Импорт классов для работы с коллекциями и случайными числами
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса для распределений генератора данных
+class SeedDataGeneratorTest {
+
+    // Тест: статусы выбираются пропорционально весам
+    @Test
+    void weighted_ShouldFollowWeights() {
+        // Arrange
+        SeedDataGenerator.Weighted<OrderStatus> weighted =
+                SeedDataGenerator.Weighted.parse("COMPLETED:70, CANCELLED:30", OrderStatus.class);
+        SplittableRandom random = new SplittableRandom(1);
+        Map<OrderStatus, Integer> counts = new EnumMap<>(OrderStatus.class);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(weighted.next(random), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(2, counts.size());
+        assertEquals(70_000, counts.get(OrderStatus.COMPLETED), 1_000);
+        assertEquals(30_000, counts.get(OrderStatus.CANCELLED), 1_000);
+    }
+
+    // Тест: неверный формат весов приводит к исключению
+    @Test
+    void weighted_WhenSpecInvalid_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SeedDataGenerator.Weighted.parse("COMPLETED", OrderStatus.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> SeedDataGenerator.Weighted.parse("DELIVERED:10", OrderStatus.class));
+    }
+
+    // Тест: в распределении Ципфа первый элемент самый частый, все индексы в пределах массива
+    @Test
+    void zipf_ShouldFavourFirstElements() {
+        // Arrange
+        double[] cdf = SeedDataGenerator.zipfCdf(100, 1.0);
+
+        // Act & Assert
+        assertEquals(1.0, cdf[99], 1e-9);
+        assertEquals(0, SeedDataGenerator.sample(cdf, 0.0));
+        assertEquals(99, SeedDataGenerator.sample(cdf, Math.nextDown(1.0)));
+        assertTrue(cdf[0] > cdf[1] - cdf[0]);
+    }
+}
@@ -0,0 +1,67 @@
+// Пакет, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт аннотаций JUnit для тестирования
+import org.junit.jupiter.api.Test;
+// Импорт классов Spring Security
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+// Импорт класса для работы с временем
+import java.time.Duration;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+
+// Объявление тестового класса для UserDetailsCache
+class UserDetailsCacheTest {
+
+    // Тестовый кеш на две записи
+    private final UserDetailsCache cache = new UserDetailsCache(2, Duration.ofMinutes(5));
+
+    // Тест: стирание пароля у вошедшего пользователя (eraseCredentials) не портит запись в кеше
+    @Test
+    void putUserInCache_WhenCredentialsErased_ShouldKeepPassword() {
+        // Arrange
+        User user = (User) User.withUsername("test@example.com").password("{bcrypt}hash").roles("USER").build();
+
+        // Act - Spring Security стирает пароль после успешного входа
+        cache.putUserInCache(user);
+        user.eraseCredentials();
+        UserDetails cached = cache.getUserFromCache("test@example.com");
+
+        // Assert
+        assertNotNull(cached);
+        assertEquals("{bcrypt}hash", cached.getPassword());
+        assertEquals(1, cached.getAuthorities().size());
+    }
+
+    // Тест: после изменения ролей пользователь убирается из кеша
+    @Test
+    void removeUserFromCache_ShouldForceReload() {
+        // Arrange
+        cache.putUserInCache(User.withUsername("test@example.com").password("hash").roles("USER").build());
+
+        // Act
+        cache.removeUserFromCache("test@example.com");
+
+        // Assert
+        assertNull(cache.getUserFromCache("test@example.com"));
+    }
+
+    // Тест: при переполнении вытесняется пользователь, который дольше всего не входил
+    @Test
+    void putUserInCache_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        cache.putUserInCache(User.withUsername("a@example.com").password("hash").roles("USER").build());
+        cache.putUserInCache(User.withUsername("b@example.com").password("hash").roles("USER").build());
+        cache.getUserFromCache("a@example.com");
+
+        // Act
+        cache.putUserInCache(User.withUsername("c@example.com").password("hash").roles("USER").build());
+
+        // Assert
+        assertNotNull(cache.getUserFromCache("a@example.com"));
+        assertNull(cache.getUserFromCache("b@example.com"));
+    }
+}
@@ -0,0 +1,78 @@
+// Объявление пакета, в котором находится тестовый класс
+package com.example.musicstore.services;
+
+// Импорт модели User
+import com.example.musicstore.models.User;
+// Импорт репозитория пользователей
+import com.example.musicstore.repositories.UserRepository;
+// Импорт исключения для случая, когда сущность не найдена
+import jakarta.persistence.EntityNotFoundException;
+// Импорт аннотации Test из JUnit для обозначения тестовых методов
+import org.junit.jupiter.api.Test;
+// Импорт аннотации ExtendWith для расширения функциональности тестов
+import org.junit.jupiter.api.extension.ExtendWith;
+// Импорт аннотаций Mockito для создания и внедрения mock-объектов
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+// Импорт расширения Mockito для JUnit 5
+import org.mockito.junit.jupiter.MockitoExtension;
+// Импорт кодировщика паролей
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Импорт класса для работы с опциональными значениями
+import java.util.Optional;
+
+// Импорт статических методов для утверждений
+import static org.junit.jupiter.api.Assertions.*;
+// Импорт статических методов для работы с Mockito
+import static org.mockito.Mockito.*;
+
+// Аннотация для интеграции Mockito с JUnit 5
+@ExtendWith(MockitoExtension.class)
+// Объявление тестового класса для UserService
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private CurrentUserResolver currentUserResolver;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @InjectMocks
+    private UserService userService;
+
+    // Тест: удаленный пользователь сбрасывается из кеша входа и кеша текущего пользователя
+    @Test
+    void deleteUser_ShouldEvictDeletedUserFromCaches() {
+        // Arrange
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("deleted@example.com");
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        // Act
+        userService.deleteUser(7L);
+
+        // Assert
+        verify(userRepository).deleteById(7L);
+        verify(userDetailsCache).removeUserFromCache("deleted@example.com");
+        verify(currentUserResolver).evict("deleted@example.com");
+    }
+
+    // Тест: несуществующий пользователь - исключение, ничего не удаляется
+    @Test
+    void deleteUser_WhenUserMissing_ShouldThrow() {
+        // Arrange
+        when(userRepository.findById(7L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> userService.deleteUser(7L));
+        verify(userRepository, never()).deleteById(any());
+        verifyNoInteractions(userDetailsCache, currentUserResolver);
+    }
+}
@@ -0,0 +1,87 @@
+-- Схема существующей базы до Flyway: ее создавал Hibernate (ddl-auto=update) по сущностям исходной версии,
+-- где Product.price был Double (колонка double), а Order.totalAmount - BigDecimal без precision (decimal(38,2)).
+-- SchemaBaselineTest создает ее, отмечает версией 1 и применяет миграции, как spring.flyway.baseline-on-migrate.
+-- Колонки перечислений - varchar: на H2 так их создает и ожидает H2Dialect (на MySQL это enum, к деньгам не относится).
+
+create table users (
+    active bit not null,
+    balance decimal(10,2),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    email varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id bigint not null,
+    role varchar(255)
+) engine=InnoDB;
+
+create table userone (
+    birth_date date,
+    id bigint not null auto_increment,
+    registration_date datetime(6),
+    email varchar(255) not null,
+    full_name varchar(255) not null,
+    phone varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table products (
+    price float(53) not null,
+    booked_by_id bigint,
+    booking_expiry datetime(6),
+    buyer_id bigint,
+    id bigint not null auto_increment,
+    author varchar(255) not null,
+    description text,
+    image_path varchar(255),
+    name varchar(255) not null,
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table images (
+    is_preview_image bit,
+    id bigint not null,
+    product_id bigint,
+    size bigint,
+    content_type varchar(255),
+    name varchar(255),
+    original_file_name varchar(255),
+    bytes tinyblob,
+    primary key (id)
+) engine=InnoDB;
+
+create table images_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into images_seq values (1);
+
+-- Генератор Image (GenerationType.AUTO): на MySQL это таблица images_seq, на H2 - последовательность
+create sequence images_seq start with 1 increment by 50;
+
+create table orders (
+    quantity integer,
+    total_amount decimal(38,2),
+    completed_date datetime(6),
+    id bigint not null auto_increment,
+    order_date datetime(6),
+    product_id bigint,
+    user_id bigint,
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table userone add constraint UK_6aximthc1n9rgffsafafgc9g unique (email);
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table images add constraint FKghwsjbjo7mg3iufxruvq6iu3q foreign key (product_id) references products (id);
+alter table orders add constraint FKkp5k52qtiygd8jkag4hayd0qg foreign key (product_id) references products (id);
+alter table orders add constraint FK32ql8ubntj5uh44ph9659tiih foreign key (user_id) references users (id);
+alter table products add constraint FKmr8ncye1xi1bf22hiomt9ed69 foreign key (booked_by_id) references users (id);
+alter table products add constraint FK4osxb4hh755cpi0q0t2sba2q6 foreign key (buyer_id) references users (id);
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id);
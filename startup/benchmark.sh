@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Замер времени запуска приложения: исполняемый jar, те же классы без AOT, AOT и AOT вместе с архивом CDS.
+#
+#   startup/build.sh                      # один раз: сборка fast-startup и архив CDS
+#   startup/benchmark.sh [аргументы приложения]
+#
+# Каждый режим запускается RUNS раз на случайном порту; время - "process running for" из строки
+# "Started MusicstoreApplication in ..." (вместе со стартом JVM), после чего процесс останавливается.
+# Медиана по режимам печатается и пишется в startup/results/startup-<LABEL>.csv,
+# чтобы сравнивать прогоны до и после изменения.
+#
+# Переменные окружения:
+#   RUNS      число запусков каждого режима (по умолчанию 5)
+#   MODES     режимы через пробел (по умолчанию "jar classpath aot aot-cds")
+#   TIMEOUT   сколько секунд ждать запуска (по умолчанию 180)
+#   LABEL     метка прогона для файла результатов (по умолчанию baseline)
+set -euo pipefail
+source "$(dirname "$0")/env.sh"
+require_build
+
+RUNS=${RUNS:-5}
+MODES=${MODES:-"jar classpath aot aot-cds"}
+TIMEOUT=${TIMEOUT:-180}
+LABEL=${LABEL:-baseline}
+RESULTS=startup/results/startup-$LABEL.csv
+
+command_for() {
+    case "$1" in
+        jar)       echo "java -jar $EXEC_JAR" ;;
+        classpath) echo "java -cp $(app_classpath) $MAIN_CLASS" ;;
+        aot)       echo "java -Dspring.aot.enabled=true -cp $(app_classpath) $MAIN_CLASS" ;;
+        aot-cds)   echo "java -XX:SharedArchiveFile=$CDS_ARCHIVE -Xshare:auto -Dspring.aot.enabled=true -cp $(app_classpath) $MAIN_CLASS" ;;
+        *)         echo "Неизвестный режим: $1" >&2; exit 1 ;;
+    esac
+}
+
+# Один запуск: печатает время в секундах или пустую строку, если приложение не запустилось
+measure() {
+    local log pid seconds=""
+    log=$(mktemp)
+    $1 --server.port=0 "${@:2}" >"$log" 2>&1 &
+    pid=$!
+    for _ in $(seq 1 "$TIMEOUT"); do
+        seconds=$(sed -n 's/.*Started MusicstoreApplication in .* (process running for \([0-9.]*\)).*/\1/p' "$log")
+        if [ -n "$seconds" ] || ! kill -0 "$pid" 2>/dev/null; then
+            break
+        fi
+        sleep 1
+    done
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    if [ -z "$seconds" ]; then
+        echo "Приложение не запустилось, лог: $log" >&2
+    else
+        rm -f "$log"
+    fi
+    echo "$seconds"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print ""; else if (NR % 2) print v[(NR + 1) / 2]; else printf "%.3f\n", (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+mkdir -p startup/results
+echo "mode,runs,median_seconds,min_seconds,max_seconds" >"$RESULTS"
+for mode in $MODES; do
+    if [ "$mode" = "aot-cds" ] && [ ! -f "$CDS_ARCHIVE" ]; then
+        echo "Нет архива $CDS_ARCHIVE, режим aot-cds пропущен" >&2
+        continue
+    fi
+    times=()
+    for run in $(seq 1 "$RUNS"); do
+        seconds=$(measure "$(command_for "$mode")" "$@")
+        [ -n "$seconds" ] && times+=("$seconds")
+        echo "$mode #$run: ${seconds:-ошибка}"
+    done
+    if [ ${#times[@]} -gt 0 ]; then
+        sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+        echo "$mode,${#times[@]},$(echo "$sorted" | median),$(echo "$sorted" | head -n 1),$(echo "$sorted" | tail -n 1)" >>"$RESULTS"
+    fi
+done
+
+echo
+cat "$RESULTS"
+echo "Результаты: $RESULTS"
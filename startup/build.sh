@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Сборка для быстрого запуска: AOT-обработка Spring и архив классов CDS по пробному запуску.
+#
+#   startup/build.sh [аргументы приложения]
+#
+# 1. mvn -Pfast-startup package: классы AOT (готовые определения бинов) попадают в jar приложения,
+#    зависимости копируются в target/fast-startup/lib.
+# 2. Пробный запуск с -XX:ArchiveClassesAtExit: контекст Spring поднимается полностью (нужна база, как при
+#    обычном запуске) и сразу закрывается (spring.context.exit=onRefresh), загруженные классы пишутся
+#    в target/fast-startup/musicstore.jsa.
+#
+# Аргументы передаются приложению при пробном запуске, например другая база:
+#   startup/build.sh --spring.datasource.url=jdbc:mysql://db:3306/musicstore
+#
+# Условия @Profile и @ConditionalOnProperty AOT вычисляет при сборке: профили Spring для сборки задаются так
+#   MAVEN_ARGS=-Dspring-boot.aot.jvmArguments=-Dspring.profiles.active=replica startup/build.sh
+# и при запуске должны быть те же. Приложение с другими профилями запускается без -Dspring.aot.enabled.
+#
+# Переменные окружения:
+#   MVN          команда Maven (по умолчанию mvn)
+#   MAVEN_ARGS   дополнительные аргументы Maven
+#   SKIP_BUILD   1 - не собирать заново, только записать архив CDS
+set -euo pipefail
+source "$(dirname "$0")/env.sh"
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+    ${MVN:-mvn} -B -q -Pfast-startup clean package -DskipTests ${MAVEN_ARGS:-}
+    source startup/env.sh
+fi
+require_build
+
+rm -f "$CDS_ARCHIVE"
+java -XX:ArchiveClassesAtExit="$CDS_ARCHIVE" -Xlog:cds=error \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -cp "$(app_classpath)" "$MAIN_CLASS" "$@"
+
+echo "Архив CDS: $CDS_ARCHIVE"
+echo "Запуск: java -XX:SharedArchiveFile=$CDS_ARCHIVE -Dspring.aot.enabled=true -cp <jar приложения и $LIB_DIR/*.jar> $MAIN_CLASS"
@@ -0,0 +1,28 @@
+# Общие переменные скриптов быстрого запуска (подключается через source).
+# Приложение запускается не из исполняемого jar, а из обычного jar с классами и отдельных jar зависимостей
+# (target/fast-startup/lib, профиль Maven fast-startup): архив CDS не работает с jar внутри jar.
+
+cd "$(dirname "${BASH_SOURCE[0]}")/.."
+
+MAIN_CLASS=com.example.musicstore.MusicstoreApplication.MusicstoreApplication
+APP_JAR=$(ls target/musicstore-*.jar 2>/dev/null | grep -v -- '-exec.jar$' | head -n 1 || true)
+EXEC_JAR=$(ls target/musicstore-*-exec.jar 2>/dev/null | head -n 1 || true)
+LIB_DIR=target/fast-startup/lib
+CDS_ARCHIVE=target/fast-startup/musicstore.jsa
+
+# Порядок jar в classpath должен совпадать при записи и при использовании архива, поэтому список сортируется
+app_classpath() {
+    local classpath="$APP_JAR"
+    local jar
+    for jar in $(ls "$LIB_DIR"/*.jar | sort); do
+        classpath="$classpath:$jar"
+    done
+    echo "$classpath"
+}
+
+require_build() {
+    if [ -z "$APP_JAR" ] || [ ! -d "$LIB_DIR" ]; then
+        echo "Нет сборки профиля fast-startup: запустите startup/build.sh" >&2
+        exit 1
+    fi
+}
@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+# Проверка native-бинарника (профиль Maven native) на локальной базе: запуск, каталог, покупка, выгрузка отчета.
+#
+#   mvn -Pnative -DskipTests native:compile            # нужен GraalVM 22.3+ с native-image
+#   java -jar target/musicstore-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=seed   # один раз, заполнить базу
+#   startup/native-smoke.sh [аргументы приложения]
+#
+# Печатает время запуска (строка "Started MusicstoreApplication") и RSS процесса после проверок.
+# Код выхода 0 - все проверки прошли; при ошибке печатается лог приложения.
+#
+# Переменные окружения:
+#   BINARY        путь к бинарнику (по умолчанию target/musicstore)
+#   PORT          порт приложения (по умолчанию 18080)
+#   EMAIL_DOMAIN  домен пользователей генератора (seed.email-domain, по умолчанию seed.example.com)
+#   PASSWORD      пароль пользователей генератора (seed.password, по умолчанию password)
+#   USER_EMAIL    покупатель (по умолчанию user1@<EMAIL_DOMAIN>)
+#   PRODUCT_ID    товар для покупки (по умолчанию первый свободный товар из /api/products/search?q=Guitar)
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+BINARY=${BINARY:-target/musicstore}
+PORT=${PORT:-18080}
+EMAIL_DOMAIN=${EMAIL_DOMAIN:-seed.example.com}
+PASSWORD=${PASSWORD:-password}
+USER_EMAIL=${USER_EMAIL:-user1@$EMAIL_DOMAIN}
+BASE_URL=http://localhost:$PORT
+
+if [ ! -x "$BINARY" ]; then
+    echo "Нет бинарника $BINARY: mvn -Pnative -DskipTests native:compile" >&2
+    exit 1
+fi
+
+WORK=$(mktemp -d)
+LOG=$WORK/app.log
+"$BINARY" --server.port="$PORT" "$@" >"$LOG" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2>/dev/null || true; wait "$PID" 2>/dev/null || true; rm -rf "$WORK"' EXIT
+
+fail() {
+    echo "ОШИБКА: $1" >&2
+    tail -n 50 "$LOG" >&2
+    exit 1
+}
+
+# Код ответа запроса; тело ответа - в $WORK/body, cookie сессии - в $WORK/cookies-<имя сессии>
+request() {
+    local session=$1
+    shift
+    curl -s -o "$WORK/body" -w '%{http_code}' -b "$WORK/cookies-$session" -c "$WORK/cookies-$session" "$@"
+}
+
+csrf() {
+    sed -n 's/.*name="_csrf"[^>]*value="\([^"]*\)".*/\1/p' "$WORK/body" | head -n 1
+}
+
+login() {
+    local session=$1 email=$2
+    [ "$(request "$session" "$BASE_URL/login")" = 200 ] || fail "страница входа"
+    local status
+    status=$(request "$session" -X POST "$BASE_URL/login" \
+        --data-urlencode "username=$email" --data-urlencode "password=$PASSWORD" --data-urlencode "_csrf=$(csrf)" \
+        -D "$WORK/headers")
+    [ "$status" = 302 ] && ! grep -qi '^location:.*error' "$WORK/headers" || fail "вход $email"
+}
+
+for _ in $(seq 1 120); do
+    if grep -q "Started MusicstoreApplication" "$LOG"; then
+        break
+    fi
+    kill -0 "$PID" 2>/dev/null || fail "приложение остановилось при запуске"
+    sleep 0.5
+done
+grep -q "Started MusicstoreApplication" "$LOG" || fail "приложение не запустилось за 60 с"
+echo "Запуск: $(sed -n 's/.*\(Started MusicstoreApplication in .*\)/\1/p' "$LOG")"
+
+# Каталог
+login user "$USER_EMAIL"
+[ "$(request user "$BASE_URL/catalog")" = 200 ] || fail "каталог"
+echo "Каталог: OK"
+
+# Покупка из корзины
+if [ -z "${PRODUCT_ID:-}" ]; then
+    PRODUCT_ID=$(curl -s -N "$BASE_URL/api/products/search?q=Guitar" \
+        | grep -m 1 '"status":"AVAILABLE"' | sed 's/.*"id":\([0-9]*\).*/\1/' || true)
+fi
+[ -n "$PRODUCT_ID" ] || fail "нет свободного товара для покупки"
+[ "$(request user "$BASE_URL/catalog")" = 200 ] || fail "каталог"
+[ "$(request user -X POST "$BASE_URL/cart/add/$PRODUCT_ID" --data-urlencode "_csrf=$(csrf)")" = 302 ] || fail "добавление в корзину"
+[ "$(request user "$BASE_URL/cart")" = 200 ] || fail "корзина"
+status=$(request user -X POST "$BASE_URL/cart/checkout/buy" --data-urlencode "_csrf=$(csrf)" -D "$WORK/headers")
+[ "$status" = 302 ] && grep -qi '^location:.*success=buy' "$WORK/headers" || fail "покупка товара $PRODUCT_ID"
+echo "Покупка товара $PRODUCT_ID: OK"
+
+# Выгрузка отчетов администратором (POI и PDFBox)
+login admin "admin@$EMAIL_DOMAIN"
+period="startDate=$(date +%Y)-01-01&endDate=$(date +%Y)-12-31"
+for format in excel pdf; do
+    [ "$(request admin "$BASE_URL/api/reports/export/all/$format?$period")" = 200 ] || fail "выгрузка $format"
+    [ -s "$WORK/body" ] || fail "пустая выгрузка $format"
+    echo "Выгрузка $format: OK ($(wc -c <"$WORK/body") байт)"
+done
+
+echo "RSS: $(( $(ps -o rss= -p "$PID") / 1024 )) МБ"